@@ -0,0 +1,251 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.function.Supplier;
+
+/**
+ * The BenchmarkWorkloads class builds the game workloads measured by the JMH benchmarks.
+ * JMH refuses benchmark classes in the default package, while the game lives there,
+ * so the benchmarks in the benchmarks package look these factories up by name and only
+ * call the returned standard functional interfaces in their measured loops.
+ *
+ * @author RUOXUAN XU
+ */
+public class BenchmarkWorkloads {
+    private final static String LEVEL_PREFIX = "res/";
+    private final static String LEVEL_SUFFIX = ".csv";
+    private final static String SYNTHETIC = "synthetic-";
+    private final static String STRESS = "stress-";
+    private final static int CELL_SIZE = 50;
+    private final static int ITEM_OFFSET = 12;
+    private final static int STEPS_PER_DIRECTION = 40;
+    private final static int SNAPSHOT_TICKS = 300;
+    private final static int PATH_TICKS = 600;
+    private final static long SEED = 42;
+    private final static int[] DIRECTIONS = {GameInput.RIGHT, GameInput.DOWN, GameInput.LEFT, GameInput.UP};
+    private final static HashMap<String, String> STRESS_FILES = new HashMap<>();
+
+    /**
+     * The number of ticks one run of the tick workload plays. It is long enough for a run to take
+     * at least a millisecond on the shipped levels, so rewinding between runs does not skew the timing.
+     */
+    public final static int TICKS_PER_RUN = 2000;
+
+    private BenchmarkWorkloads() {
+    }
+
+    /**
+     * Method that returns a workload which loads a level into a new engine.
+     *
+     * @param level The name of a shipped level such as level0, synthetic-WALLS-GHOSTS, or a stress level.
+     * @return A supplier that builds a new engine from the level each time it is called.
+     */
+    public static Supplier<Object> levelLoad(String level) {
+        String file = resolve(level);
+        return () -> new GameEngine(file, file, SEED);
+    }
+
+    /**
+     * Method that returns a workload which runs the player's collision pass once,
+     * including its wall sweep and every ghost's player check.
+     * The player follows the path it takes in a played game, one tick of it per call, so the pass sees
+     * changing positions instead of one frozen state. The ghosts stay where the level puts them, and once
+     * the first lap of the path has eaten the items on it, the pass measures finding collisions rather than eating.
+     *
+     * @param level The name of a shipped level such as level0, synthetic-WALLS-GHOSTS, or a stress level.
+     * @return A runnable that checks the player's collisions once per call.
+     */
+    public static Runnable collisions(String level) {
+        String file = resolve(level);
+        GameEngine path = start(file);
+        double[] xs = new double[PATH_TICKS + 1];
+        double[] ys = new double[PATH_TICKS + 1];
+        for (int step = 0; step <= PATH_TICKS; step++) {
+            xs[step] = path.getPlayer().getX();
+            ys[step] = path.getPlayer().getY();
+            path.tick(DIRECTIONS[(step / STEPS_PER_DIRECTION) % DIRECTIONS.length]);
+        }
+        GameEngine engine = start(file);
+        return new Runnable() {
+            private int step;
+
+            @Override
+            public void run() {
+                Player player = engine.getPlayer();
+                player.setPosition(xs[step], ys[step]);
+                player.move(xs[step + 1] - xs[step], ys[step + 1] - ys[step]);
+                engine.checkCollisions(player);
+                step = (step + 1) % PATH_TICKS;
+            }
+        };
+    }
+
+    /**
+     * Method that returns a workload which plays a fixed run of gameplay ticks, and the rewind to its start.
+     * The player turns every few ticks. Every run starts from the same snapshot, taken just after start,
+     * with the same inputs, so every run plays the same ticks. One run is played here to check that the game
+     * does not end within it, so every measured tick is gameplay and no game is restarted while measuring.
+     *
+     * @param level The name of a shipped level such as level0, synthetic-WALLS-GHOSTS, or a stress level.
+     * @return Two runnables: the first plays one run of ticks, the second rewinds the game to the start of the run.
+     * @throws IllegalStateException If the game ends within a run on this level.
+     */
+    public static Runnable[] tick(String level) {
+        GameEngine engine = start(resolve(level));
+        GameSnapshot start = new GameSnapshot();
+        engine.save(start);
+        Runnable run = () -> {
+            for (int step = 0; step < TICKS_PER_RUN; step++) {
+                engine.tick(DIRECTIONS[(step / STEPS_PER_DIRECTION) % DIRECTIONS.length]);
+            }
+        };
+        Runnable rewind = () -> engine.restore(start);
+
+        run.run();
+        if (engine.isGameOver() || engine.isPlayerWin()) {
+            throw new IllegalStateException("the game on " + level + " ends within " + TICKS_PER_RUN + " ticks");
+        }
+        rewind.run();
+        return new Runnable[] {run, rewind};
+    }
+
+    /**
+     * Method that returns a workload which saves a game into a reused snapshot.
+     * The game is played for a few hundred ticks first, so the player has eaten some items.
+     *
+     * @param level The name of a shipped level such as level0, synthetic-WALLS-GHOSTS, or a stress level.
+     * @return A runnable that saves the game once per call.
+     */
+    public static Runnable snapshotSave(String level) {
+        GameEngine engine = played(resolve(level));
+        GameSnapshot snapshot = new GameSnapshot();
+        return () -> engine.save(snapshot);
+    }
+
+    /**
+     * Method that returns a workload which restores a game from a snapshot saved after a few hundred ticks.
+     *
+     * @param level The name of a shipped level such as level0, synthetic-WALLS-GHOSTS, or a stress level.
+     * @return A runnable that restores the game once per call.
+     */
+    public static Runnable snapshotRestore(String level) {
+        GameEngine engine = played(resolve(level));
+        GameSnapshot snapshot = new GameSnapshot();
+        engine.save(snapshot);
+        return () -> engine.restore(snapshot);
+    }
+
+    /**
+     * Method that creates an engine for the level and plays it with the tick workload's turning inputs.
+     */
+    private static GameEngine played(String file) {
+        GameEngine engine = start(file);
+        for (int step = 0; step < SNAPSHOT_TICKS; step++) {
+            engine.tick(DIRECTIONS[(step / STEPS_PER_DIRECTION) % DIRECTIONS.length]);
+        }
+        return engine;
+    }
+
+    /**
+     * Method that creates an engine for the level and presses start.
+     */
+    private static GameEngine start(String file) {
+        GameEngine engine = new GameEngine(file, file, SEED);
+        engine.tick(GameInput.START);
+        return engine;
+    }
+
+    /**
+     * Method that turns a level name into the path of its file, writing synthetic levels to a temporary file.
+     * A name ending in .bin selects the binary form of the level, compiling synthetic levels on the fly.
+     * Stress levels from MazeGenerator are always generated in binary form, once per JVM.
+     *
+     * @param level The name of a shipped level such as level0, synthetic-WALLS-GHOSTS, or a stress level.
+     * @return The path of the level file.
+     */
+    public static synchronized String resolve(String level) {
+        if (level.startsWith(STRESS)) {
+            String name = level.endsWith(LevelFormat.BINARY_SUFFIX)
+                    ? level.substring(0, level.length() - LevelFormat.BINARY_SUFFIX.length()) : level;
+            try {
+                String file = STRESS_FILES.get(name);
+                if (file == null) {
+                    file = MazeGenerator.writeStressLevel(name);
+                    STRESS_FILES.put(name, file);
+                }
+                return file;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        boolean binary = level.endsWith(LevelFormat.BINARY_SUFFIX);
+        if (binary) {
+            level = level.substring(0, level.length() - LevelFormat.BINARY_SUFFIX.length());
+        }
+        if (!level.startsWith(SYNTHETIC)) {
+            return LEVEL_PREFIX + level + (binary ? LevelFormat.BINARY_SUFFIX : LEVEL_SUFFIX);
+        }
+        String[] sizes = level.substring(SYNTHETIC.length()).split("-");
+        String file = writeSyntheticLevel(Integer.parseInt(sizes[0]), Integer.parseInt(sizes[1]));
+        if (!binary) {
+            return file;
+        }
+        try {
+            String binaryFile = LevelCompiler.binaryFileOf(file);
+            LevelCompiler.compile(file, binaryFile);
+            new File(binaryFile).deleteOnExit();
+            return binaryFile;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Method that writes a square maze with roughly the given number of walls and ghosts.
+     * The maze has a solid border and a pillar on every other cell inside it, leaving corridors
+     * between the pillars. The player starts in the top-left corridor, ghosts are spread over
+     * the corridors, and every other corridor cell holds a dot.
+     *
+     * @param wallCount The approximate number of walls.
+     * @param ghostCount The number of ghosts.
+     * @return The path of the written level file.
+     */
+    private static String writeSyntheticLevel(int wallCount, int ghostCount) {
+        int side = 3;
+        while (side * side / 4 + 4 * side < wallCount) {
+            side += 2;
+        }
+        try {
+            File file = File.createTempFile(SYNTHETIC + wallCount + "-" + ghostCount, LEVEL_SUFFIX);
+            file.deleteOnExit();
+            try (PrintWriter writer = new PrintWriter(file)) {
+                writer.println("Player," + (CELL_SIZE + ITEM_OFFSET) + "," + (CELL_SIZE + ITEM_OFFSET));
+                int ghostsLeft = ghostCount;
+                int corridors = 0;
+                for (int row = 0; row < side; row++) {
+                    for (int column = 0; column < side; column++) {
+                        int x = column * CELL_SIZE;
+                        int y = row * CELL_SIZE;
+                        boolean border = row == 0 || column == 0 || row == side - 1 || column == side - 1;
+                        if (border || (row % 2 == 0 && column % 2 == 0)) {
+                            writer.println("Wall," + x + "," + y);
+                        } else if (row != 1 || column != 1) {
+                            corridors++;
+                            if (ghostsLeft > 0 && corridors % 3 == 0) {
+                                writer.println((ghostsLeft % 2 == 0 ? "GhostRed," : "GhostBlue,")
+                                        + (x + ITEM_OFFSET) + "," + (y + ITEM_OFFSET));
+                                ghostsLeft--;
+                            } else if (corridors % 2 == 0) {
+                                writer.println("Dot," + (x + ITEM_OFFSET) + "," + (y + ITEM_OFFSET));
+                            }
+                        }
+                    }
+                }
+            }
+            return file.getPath();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CollisionBenchmark class measures the player's collision pass at growing wall and ghost counts:
+ * the player's sweep against the walls, the pellet and items it eats, and the broadphase pairing it with ghosts.
+ * Ghosts are swept against the walls when they move, outside this pass, and stand still in this workload.
+ * Each call moves the player one step along a recorded path, so the positions checked keep changing.
+ *
+ * @author RUOXUAN XU
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CollisionBenchmark {
+    @Param({"level0", "level1", "synthetic-1000-16", "synthetic-10000-16",
+            "synthetic-10000-256", "synthetic-100000-1024",
+            "stress-10k", "stress-100k", "stress-1m"})
+    public String level;
+
+    private Runnable collisions;
+
+    @Setup
+    public void setUp() {
+        collisions = Workloads.create("collisions", level, Runnable.class);
+    }
+
+    @Benchmark
+    public void checkCollisions() {
+        collisions.run();
+    }
+}
@@ -0,0 +1,43 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The LevelLoadBenchmark class measures reading a level file and building its entities,
+ * for the shipped levels and for synthetic and generated stress levels of growing size,
+ * in both CSV and binary form.
+ *
+ * @author RUOXUAN XU
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LevelLoadBenchmark {
+    @Param({"level0", "level0.bin", "level1", "level1.bin", "synthetic-10000-4", "synthetic-10000-4.bin",
+            "synthetic-100000-4", "synthetic-100000-4.bin",
+            "stress-10k", "stress-100k", "stress-1m"})
+    public String level;
+
+    private Supplier<Object> load;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        load = Workloads.create("levelLoad", level, Supplier.class);
+    }
+
+    @Benchmark
+    public Object readLevel() {
+        return load.get();
+    }
+}
@@ -0,0 +1,45 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SnapshotBenchmark class measures saving a running game into a snapshot and restoring it,
+ * which bots and search tools do thousands of times per second.
+ *
+ * @author RUOXUAN XU
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SnapshotBenchmark {
+    @Param({"level0", "level1", "stress-10k", "stress-100k"})
+    public String level;
+
+    private Runnable save;
+    private Runnable restore;
+
+    @Setup
+    public void setUp() {
+        save = Workloads.create("snapshotSave", level, Runnable.class);
+        restore = Workloads.create("snapshotRestore", level, Runnable.class);
+    }
+
+    @Benchmark
+    public void save() {
+        save.run();
+    }
+
+    @Benchmark
+    public void restore() {
+        restore.run();
+    }
+}
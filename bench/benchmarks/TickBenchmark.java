@@ -0,0 +1,64 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The TickBenchmark class measures one full headless game tick: player input and movement,
+ * ghost movement, collisions, frenzy and win checks.
+ * Each invocation plays a run of BenchmarkWorkloads.TICKS_PER_RUN gameplay ticks from the same state; the game
+ * is rewound to that state before every invocation, outside the measurement, so no level is reloaded while
+ * measuring. A run takes at least a millisecond, so the per-invocation setup does not skew the timing.
+ * The primary score is the time of a whole run; the ticks secondary score is the time of one tick.
+ *
+ * @author RUOXUAN XU
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TickBenchmark {
+    @Param({"level0", "level1", "synthetic-10000-256", "stress-10k", "stress-100k"})
+    public String level;
+
+    private Runnable run;
+    private Runnable rewind;
+    private int ticksPerRun;
+
+    /**
+     * The TickCounter class counts the ticks played, so JMH also reports the time of a single tick.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class TickCounter {
+        public long ticks;
+    }
+
+    @Setup
+    public void setUp() {
+        Runnable[] workload = Workloads.create("tick", level, Runnable[].class);
+        run = workload[0];
+        rewind = workload[1];
+        ticksPerRun = Workloads.constant("TICKS_PER_RUN");
+    }
+
+    @Setup(Level.Invocation)
+    public void rewind() {
+        rewind.run();
+    }
+
+    @Benchmark
+    public void tick(TickCounter counter) {
+        run.run();
+        counter.ticks += ticksPerRun;
+    }
+}
@@ -0,0 +1,51 @@
+package benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * The Workloads class looks up the game workloads built by BenchmarkWorkloads.
+ * The game classes live in the default package, which cannot be imported from a named package,
+ * so the factories are called by reflection once during setup. The measured code only
+ * calls the standard functional interfaces they return.
+ *
+ * @author RUOXUAN XU
+ */
+final class Workloads {
+    private final static String FACTORY = "BenchmarkWorkloads";
+
+    private Workloads() {
+    }
+
+    /**
+     * Method that calls a workload factory with a single level name.
+     *
+     * @param method The name of the factory method.
+     * @param level The level passed to the factory.
+     * @param type The interface the workload is returned as.
+     * @return The workload.
+     */
+    static <T> T create(String method, String level, Class<T> type) {
+        try {
+            Object workload = Class.forName(FACTORY).getMethod(method, String.class).invoke(null, level);
+            return type.cast(workload);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Method that reads a public int constant of the workload factories.
+     *
+     * @param name The name of the constant.
+     * @return The value of the constant.
+     */
+    static int constant(String name) {
+        try {
+            return Class.forName(FACTORY).getField(name).getInt(null);
+        } catch (ClassNotFoundException | NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+import bagel.Font;
+import bagel.Image;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The AssetCache class loads every image and font once and hands out the shared instance afterwards.
+ * Loading an image decodes the file and uploads a new texture, so doing it again mid-game
+ * causes a frame hitch; the cache makes every later request a map lookup.
+ * It also records how long loading took and estimates the texture memory used.
+ * preload loads every image of a directory before the first frame. It reads the image and font files
+ * in parallel first, which only warms the operating system's file cache. It does not decode in parallel or
+ * batch the uploads: bagel can only create an image from a file, decoding and uploading it in a single call
+ * that must run on the thread owning the OpenGL context, so the images are then created one after another.
+ * Fonts are only read ahead; they are created by getFont at the sizes the game asks for.
+ *
+ * @author RUOXUAN XU
+ */
+public class AssetCache {
+    private final static int BYTES_PER_PIXEL = 4;
+    private final static double NANOS_PER_MILLI = 1_000_000.0;
+    private final static double BYTES_PER_KILOBYTE = 1024.0;
+    private final static String IMAGE_SUFFIX = ".png";
+    private final static String FONT_SUFFIX = ".ttf";
+
+    private final HashMap<String, Image> images = new HashMap<>();
+    private final HashMap<String, Font> fonts = new HashMap<>();
+    private long imageLoadNanos;
+    private long fontLoadNanos;
+    private long readNanos;
+    private long readBytes;
+    private long textureBytes;
+
+    /**
+     * Method that loads every image in a directory, so none is loaded in the middle of a frame later.
+     * All image and font files, matched by suffix in any case, are first read in parallel, which brings them
+     * into the operating system's file cache, and the images are then created one by one on the calling thread.
+     * Fonts are not created here, as they are created at a specific size by getFont.
+     *
+     * @param directory The directory holding the game's images and fonts.
+     */
+    public void preload(String directory) {
+        File[] files = new File(directory).listFiles((dir, name) -> isImage(name)
+                || name.toLowerCase(Locale.ROOT).endsWith(FONT_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        List<File> assetFiles = Arrays.asList(files);
+        long start = System.nanoTime();
+        readBytes += assetFiles.parallelStream().mapToLong(AssetCache::read).sum();
+        readNanos += System.nanoTime() - start;
+
+        for (File file : assetFiles) {
+            if (isImage(file.getName())) {
+                getImage(directory + "/" + file.getName());
+            }
+        }
+    }
+
+    /**
+     * Method that checks whether a file name has the image suffix, in any case.
+     */
+    private static boolean isImage(String name) {
+        return name.toLowerCase(Locale.ROOT).endsWith(IMAGE_SUFFIX);
+    }
+
+    /**
+     * Method that reads a whole file and returns its size.
+     * Reading only warms the file cache, so a file that cannot be read is skipped here,
+     * and fails when it is loaded.
+     */
+    private static long read(File file) {
+        try {
+            return Files.readAllBytes(file.toPath()).length;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Method that returns the image stored in the given file, loading it the first time it is requested.
+     *
+     * @param file The path of the image file.
+     * @return The shared image.
+     */
+    public Image getImage(String file) {
+        Image image = images.get(file);
+        if (image == null) {
+            long start = System.nanoTime();
+            image = new Image(file);
+            imageLoadNanos += System.nanoTime() - start;
+            textureBytes += (long) (image.getWidth() * image.getHeight()) * BYTES_PER_PIXEL;
+            images.put(file, image);
+        }
+        return image;
+    }
+
+    /**
+     * Method that returns the image a sprite is drawn with.
+     *
+     * @param sprite The sprite to draw.
+     * @return The shared image.
+     */
+    public Image getImage(Sprite sprite) {
+        return getImage(sprite.getFile());
+    }
+
+    /**
+     * Method that returns the font stored in the given file at the given size,
+     * loading it the first time it is requested.
+     *
+     * @param file The path of the font file.
+     * @param size The size of the font.
+     * @return The shared font.
+     */
+    public Font getFont(String file, int size) {
+        String key = file + "@" + size;
+        Font font = fonts.get(key);
+        if (font == null) {
+            long start = System.nanoTime();
+            font = new Font(file, size);
+            fontLoadNanos += System.nanoTime() - start;
+            fonts.put(key, font);
+        }
+        return font;
+    }
+
+    /**
+     * Method that summarises what the cache has loaded, how long it took and the estimated texture memory.
+     *
+     * @return A one-line report of the cache.
+     */
+    public String getReport() {
+        return String.format("assets: %.1f KB read in %.1f ms, %d images in %.1f ms (%.1f KB textures), "
+                        + "%d fonts in %.1f ms", readBytes / BYTES_PER_KILOBYTE, readNanos / NANOS_PER_MILLI,
+                images.size(), imageLoadNanos / NANOS_PER_MILLI, textureBytes / BYTES_PER_KILOBYTE,
+                fonts.size(), fontLoadNanos / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * The BatchResult class adds up the outcomes of a batch of headless games.
+ * Partial results from different workers are combined with merge.
+ * A batch whose games cannot be won reports only its losses and timeouts, without a win rate.
+ *
+ * @author RUOXUAN XU
+ */
+public class BatchResult {
+    private final static double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final boolean isWinCounted;
+    private int games;
+    private int wins;
+    private int losses;
+    private int timeouts;
+    private long ticks;
+    private long ticksToClear;
+    private long livesLost;
+
+    /**
+     * Method that constructs an empty result for games that can be won.
+     */
+    public BatchResult() {
+        this(true);
+    }
+
+    /**
+     * Method that constructs an empty result.
+     *
+     * @param isWinCounted False if the games cannot be won, so the report leaves out the win rate.
+     */
+    public BatchResult(boolean isWinCounted) {
+        this.isWinCounted = isWinCounted;
+    }
+
+    /**
+     * Method that records the outcome of one game.
+     *
+     * @param win True if the player cleared the final level.
+     * @param loss True if the player lost all lives.
+     * @param gameTicks The number of ticks the game ran for.
+     * @param gameLivesLost The number of lives the player lost over all levels.
+     */
+    public void add(boolean win, boolean loss, long gameTicks, int gameLivesLost) {
+        games++;
+        if (win) {
+            wins++;
+            ticksToClear += gameTicks;
+        } else if (loss) {
+            losses++;
+        } else {
+            timeouts++;
+        }
+        ticks += gameTicks;
+        livesLost += gameLivesLost;
+    }
+
+    /**
+     * Method that adds another partial result to this one.
+     *
+     * @param other The result to add.
+     * @return This result, holding the combined totals.
+     */
+    public BatchResult merge(BatchResult other) {
+        games += other.games;
+        wins += other.wins;
+        losses += other.losses;
+        timeouts += other.timeouts;
+        ticks += other.ticks;
+        ticksToClear += other.ticksToClear;
+        livesLost += other.livesLost;
+        return this;
+    }
+
+    /**
+     * Method that summarises the batch, including throughput over the given wall-clock time.
+     *
+     * @param elapsedNanos The time the batch took to run.
+     * @return A report of the batch.
+     */
+    public String getReport(long elapsedNanos) {
+        double seconds = elapsedNanos / NANOS_PER_SECOND;
+        if (!isWinCounted) {
+            return String.format("games %d: wins not counted on this level (%d lost, %d timed out)%n"
+                            + "average lives lost %.2f%n"
+                            + "%.1f games/s, %.0f ticks/s over %.2f s",
+                    games, losses, timeouts, games == 0 ? 0 : (double) livesLost / games,
+                    games / seconds, ticks / seconds, seconds);
+        }
+        return String.format("games %d: win rate %.1f%% (%d won, %d lost, %d timed out)%n"
+                        + "average ticks to clear %.0f, average lives lost %.2f%n"
+                        + "%.1f games/s, %.0f ticks/s over %.2f s",
+                games, games == 0 ? 0 : 100.0 * wins / games, wins, losses, timeouts,
+                wins == 0 ? 0 : (double) ticksToClear / wins, games == 0 ? 0 : (double) livesLost / games,
+                games / seconds, ticks / seconds, seconds);
+    }
+
+    /**
+     * Method that retrieves the number of games recorded.
+     *
+     * @return The number of games.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Method that retrieves the number of games the player won.
+     *
+     * @return The number of wins.
+     */
+    public int getWins() {
+        return wins;
+    }
+}
@@ -0,0 +1,174 @@
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The BatchRunner class plays many seeded headless games in parallel and reports their outcomes.
+ * The range of games is split in halves on a work-stealing ForkJoinPool, so idle cores take
+ * work from busy ones. Every game owns its GameEngine and its bot, and nothing is shared between
+ * games while they run, so the workers do not wait on each other.
+ * A game's seed drives both its ghosts and its bot, so any game can be replayed from its seed.
+ * Games play the shipped levels, or a single level file or stress level played as both levels.
+ * The engine's win scores belong to the shipped levels, so games on a level file are not counted as won;
+ * they are played until the player loses or the tick limit is reached.
+ *
+ * @author RUOXUAN XU
+ */
+public class BatchRunner {
+    private final static int DEFAULT_GAMES = 1000;
+    private final static long DEFAULT_MAX_TICKS = 100_000;
+    private final static long DEFAULT_SEED = 42;
+    private final static int GAMES_PER_TASK = 4;
+    private final static String STRESS_PREFIX = "stress-";
+
+    private final long maxTicks;
+    private final long seed;
+    private final String levelFile;
+
+    /**
+     * Method that constructs a BatchRunner playing the shipped levels.
+     *
+     * @param maxTicks The number of ticks after which an unfinished game counts as timed out.
+     * @param seed The seed every game's own seed is derived from.
+     */
+    public BatchRunner(long maxTicks, long seed) {
+        this(maxTicks, seed, null);
+    }
+
+    /**
+     * Method that constructs a BatchRunner playing one level file as both levels.
+     *
+     * @param maxTicks The number of ticks after which an unfinished game counts as timed out.
+     * @param seed The seed every game's own seed is derived from.
+     * @param levelFile The CSV or binary level to play, or null for the shipped levels.
+     */
+    public BatchRunner(long maxTicks, long seed, String levelFile) {
+        this.maxTicks = maxTicks;
+        this.seed = seed;
+        this.levelFile = levelFile;
+    }
+
+    /**
+     * This is the main method for running a batch of headless games.
+     *
+     * @param args Optionally the number of games, the tick limit per game, the seed,
+     *             and a level file or the name of a stress level from MazeGenerator.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_MAX_TICKS;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        String levelFile = args.length > 3 ? args[3] : null;
+        if (levelFile != null && levelFile.startsWith(STRESS_PREFIX)) {
+            try {
+                levelFile = MazeGenerator.writeStressLevel(levelFile);
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.exit(-1);
+            }
+        }
+
+        long start = System.nanoTime();
+        BatchResult result = new BatchRunner(maxTicks, seed, levelFile).run(games, ForkJoinPool.commonPool());
+        System.out.println(result.getReport(System.nanoTime() - start));
+    }
+
+    /**
+     * Method that plays the given number of games on the pool and combines their outcomes.
+     *
+     * @param games The number of games to play.
+     * @param pool The pool the games run on.
+     * @return The combined outcomes.
+     */
+    public BatchResult run(int games, ForkJoinPool pool) {
+        return pool.invoke(new GamesTask(0, games));
+    }
+
+    /**
+     * Method that returns the seed of one game, so any game of a batch can be replayed on its own.
+     *
+     * @param game The index of the game in the batch.
+     * @return The seed of the game.
+     */
+    public long seedOf(int game) {
+        return new SplittableRandom(seed + game).nextLong();
+    }
+
+    /**
+     * Method that plays one game to the end, or until the tick limit, and records its outcome.
+     *
+     * @param gameSeed The seed of the game.
+     * @param result The result to record the outcome in.
+     */
+    public void playGame(long gameSeed, BatchResult result) {
+        GameEngine engine = levelFile == null
+                ? new GameEngine(gameSeed) : new GameEngine(levelFile, levelFile, gameSeed);
+        InputPolicy policy = new RandomWalkPolicy(gameSeed);
+        Player player = engine.getPlayer();
+        int lives = player.getLives();
+        int livesLost = 0;
+        long ticks = 0;
+        boolean isWinCounted = isWinCounted();
+
+        while (!engine.isGameOver() && !(isWinCounted && hasWon(engine)) && ticks < maxTicks) {
+            engine.tick(policy.nextInput(engine));
+            ticks++;
+            if (engine.getPlayer() != player) {
+                player = engine.getPlayer();
+                lives = Player.MAX_LIVES;
+            } else if (player.getLives() < lives) {
+                livesLost += lives - player.getLives();
+                lives = player.getLives();
+            }
+        }
+        result.add(isWinCounted && hasWon(engine), engine.isGameOver(), ticks, livesLost);
+    }
+
+    /**
+     * Method that checks whether games of this batch can be won, which is only so on the shipped levels.
+     *
+     * @return True if the batch plays the shipped levels.
+     */
+    public boolean isWinCounted() {
+        return levelFile == null;
+    }
+
+    /**
+     * Method that checks whether the player has cleared the final level.
+     */
+    private static boolean hasWon(GameEngine engine) {
+        return engine.getLevel() == GameEngine.LEVEL_1 && engine.isPlayerWin();
+    }
+
+    /**
+     * The GamesTask class plays a range of games, splitting the range while it is large.
+     */
+    private class GamesTask extends RecursiveTask<BatchResult> {
+        private final static long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        GamesTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BatchResult compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                BatchResult result = new BatchResult(isWinCounted());
+                for (int game = from; game < to; game++) {
+                    playGame(seedOf(game), result);
+                }
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            GamesTask left = new GamesTask(from, middle);
+            left.fork();
+            BatchResult right = new GamesTask(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -1,5 +1,3 @@
-import bagel.Image;
-
 /**
  * This class represents a cherry entity in the game. Extends the EatableEntity class.
  * Cherries can be eaten by the player to gain points.
@@ -7,7 +5,7 @@ import bagel.Image;
  * @author RUOXUAN XU
  */
 public class Cherry extends EatableEntity {
-    private final static Image CHERRY = new Image("res/cherry.png");
+    private final static Sprite CHERRY = Sprite.load("res/cherry.png");
 
     /**
      * The value of each cherry in terms of points.
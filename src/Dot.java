@@ -1,5 +1,3 @@
-import bagel.Image;
-
 /**
  * This class represents a dot entity in the game. Extends the EatableEntity class.
  * Dots can be eaten by the player to gain points.
@@ -7,7 +5,7 @@ import bagel.Image;
  * @author RUOXUAN XU
  */
 public class Dot extends EatableEntity{
-    private final static Image DOT = new Image("res/dot.png");
+    private final static Sprite DOT = Sprite.load("res/dot.png");
 
     /**
      * The value of each dot in terms of points.
@@ -1,5 +1,3 @@
-import bagel.Image;
-
 /**
  * The abstract class EatableEntity represents an entity in the game that can be eaten by the player.
  * It extends the Entity class.
@@ -11,15 +9,15 @@ abstract public class EatableEntity extends Entity {
     private int points;
 
     /**
-     * Method that constructs an EatableEntity object at the specified position with the given image and points value.
+     * Method that constructs an EatableEntity object at the specified position with the given sprite and points value.
      *
      * @param initialX The initial x-coordinate of the entity.
      * @param initialY The initial y-coordinate of the entity.
-     * @param image The image representing the entity.
+     * @param sprite The sprite representing the entity.
      * @param points The points value associated with the entity.
      */
-    public EatableEntity(int initialX, int initialY, Image image, int points) {
-        super(initialX, initialY, image);
+    public EatableEntity(int initialX, int initialY, Sprite sprite, int points) {
+        super(initialX, initialY, sprite);
         this.points = points;
     }
 
@@ -0,0 +1,246 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The EatableStore class keeps the dots and cherries of a level in flat primitive arrays.
+ * Each item is an index into parallel arrays of coordinates, points and sprite kinds,
+ * and a BitSet marks the items that have not been eaten yet, so eaten items are skipped
+ * with nextSetBit instead of being visited every tick.
+ * Items never move, so nothing else needs to be stored per item.
+ *
+ * @author RUOXUAN XU
+ */
+public class EatableStore {
+    private final static int INITIAL_CAPACITY = 128;
+    private final static byte EATEN_LIST = 0;
+    private final static byte EATEN_BITS = 1;
+
+    private int[] xs = new int[INITIAL_CAPACITY];
+    private int[] ys = new int[INITIAL_CAPACITY];
+    private int[] points = new int[INITIAL_CAPACITY];
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    private final ArrayList<Sprite> sprites = new ArrayList<>();
+    private final BitSet remaining = new BitSet();
+    private int size;
+
+    /**
+     * Method that copies an eatable entity read from the level into the store.
+     *
+     * @param entity The dot or cherry to store.
+     */
+    public void add(EatableEntity entity) {
+        if (size == xs.length) {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            points = Arrays.copyOf(points, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+        }
+        int kind = sprites.indexOf(entity.getSprite());
+        if (kind < 0) {
+            kind = sprites.size();
+            sprites.add(entity.getSprite());
+        }
+        xs[size] = (int) entity.getX();
+        ys[size] = (int) entity.getY();
+        points[size] = entity.getPoints();
+        kinds[size] = (byte) kind;
+        remaining.set(size);
+        size++;
+    }
+
+    /**
+     * Method that eats every remaining item the given entity's bounding box touches
+     * and returns the points they were worth.
+     *
+     * @param entity The player.
+     * @return The total points of the items eaten.
+     */
+    public int eatIntersecting(Entity entity) {
+        double left = entity.getX();
+        double right = left + entity.getWidth();
+        double top = entity.getY();
+        double bottom = top + entity.getHeight();
+        int gained = 0;
+
+        for (int i = remaining.nextSetBit(0); i >= 0; i = remaining.nextSetBit(i + 1)) {
+            Sprite sprite = sprites.get(kinds[i]);
+            if (xs[i] <= right && xs[i] + sprite.getWidth() >= left
+                    && ys[i] <= bottom && ys[i] + sprite.getHeight() >= top) {
+                gained += points[i];
+                remaining.clear(i);
+            }
+        }
+        return gained;
+    }
+
+    /**
+     * Method that writes which items have been eaten to a game snapshot, as a delta against the level
+     * as loaded, where nothing is eaten. While few items are eaten it writes just their indices,
+     * and once that would be larger it writes the remaining set as a bitmap instead.
+     *
+     * @param out The buffer of the snapshot.
+     */
+    public void writeEaten(ByteBuffer out) {
+        int eaten = size - remaining.cardinality();
+        int words = (size + Long.SIZE - 1) / Long.SIZE;
+        if ((long) eaten * Integer.BYTES <= (long) words * Long.BYTES) {
+            out.put(EATEN_LIST);
+            out.putInt(eaten);
+            for (int i = remaining.nextClearBit(0); i < size; i = remaining.nextClearBit(i + 1)) {
+                out.putInt(i);
+            }
+        } else {
+            out.put(EATEN_BITS);
+            out.putInt(words);
+            for (int word = 0; word < words; word++) {
+                int first = word * Long.SIZE;
+                long bits = 0;
+                for (int i = remaining.nextSetBit(first); i >= 0 && i < first + Long.SIZE;
+                        i = remaining.nextSetBit(i + 1)) {
+                    bits |= 1L << (i - first);
+                }
+                out.putLong(bits);
+            }
+        }
+    }
+
+    /**
+     * Method that restores which items have been eaten from the state written by writeEaten.
+     *
+     * @param in The buffer of the snapshot.
+     */
+    public void readEaten(ByteBuffer in) {
+        byte form = in.get();
+        int count = in.getInt();
+        if (form == EATEN_LIST) {
+            remaining.set(0, size);
+            for (int i = 0; i < count; i++) {
+                remaining.clear(in.getInt());
+            }
+        } else {
+            remaining.clear();
+            for (int word = 0; word < count; word++) {
+                long bits = in.getLong();
+                for (; bits != 0; bits &= bits - 1) {
+                    remaining.set(word * Long.SIZE + Long.numberOfTrailingZeros(bits));
+                }
+            }
+        }
+    }
+
+    /**
+     * Method that checks whether the buffer holds, from the given position to its limit, exactly the state
+     * writeEaten writes for a store of this size, without reading it or moving the buffer's position.
+     *
+     * @param in The buffer of the snapshot.
+     * @param position The position the eaten state starts at.
+     * @return True if readEaten can restore the state, false if it is cut short, too long or out of range.
+     */
+    public boolean canReadEaten(ByteBuffer in, int position) {
+        int length = in.limit() - position;
+        if (length < 1 + Integer.BYTES) {
+            return false;
+        }
+        byte form = in.get(position);
+        int count = in.getInt(position + 1);
+        int start = position + 1 + Integer.BYTES;
+        if (form == EATEN_LIST) {
+            if (count < 0 || count > size || (long) length != 1 + Integer.BYTES + (long) count * Integer.BYTES) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                int index = in.getInt(start + i * Integer.BYTES);
+                if (index < 0 || index >= size) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        int words = (size + Long.SIZE - 1) / Long.SIZE;
+        if (form != EATEN_BITS || count != words || length != 1 + Integer.BYTES + words * Long.BYTES) {
+            return false;
+        }
+        return words == 0 || size % Long.SIZE == 0
+                || in.getLong(start + (words - 1) * Long.BYTES) >>> (size % Long.SIZE) == 0;
+    }
+
+    /**
+     * Method that returns the largest number of bytes writeEaten can write for this store.
+     *
+     * @return The size of the bitmap form, which the list form never exceeds.
+     */
+    public int maxEatenBytes() {
+        return 1 + Integer.BYTES + (size + Long.SIZE - 1) / Long.SIZE * Long.BYTES;
+    }
+
+    /**
+     * Method that returns the index of the next item not yet eaten, starting from the given index.
+     *
+     * @param from The index to start searching from.
+     * @return The index of the next remaining item, or -1 if there is none.
+     */
+    public int nextRemaining(int from) {
+        return remaining.nextSetBit(from);
+    }
+
+    /**
+     * Method that returns how many items have not been eaten yet.
+     *
+     * @return The number of remaining items.
+     */
+    public int remainingCount() {
+        return remaining.cardinality();
+    }
+
+    /**
+     * Method that returns how many items the store holds, eaten or not.
+     *
+     * @return The number of items.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method that retrieves the x-coordinate of an item.
+     *
+     * @param index The index of the item.
+     * @return The x-coordinate of the item's top-left corner.
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Method that retrieves the y-coordinate of an item.
+     *
+     * @param index The index of the item.
+     * @return The y-coordinate of the item's top-left corner.
+     */
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Method that retrieves the points value of an item.
+     *
+     * @param index The index of the item.
+     * @return The points the item is worth.
+     */
+    public int getPoints(int index) {
+        return points[index];
+    }
+
+    /**
+     * Method that retrieves the sprite of an item.
+     *
+     * @param index The index of the item.
+     * @return The sprite the item is drawn with.
+     */
+    public Sprite getSprite(int index) {
+        return sprites.get(kinds[index]);
+    }
+}
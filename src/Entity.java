@@ -1,69 +1,135 @@
-import bagel.Image;
-import bagel.util.Point;
-import bagel.util.Rectangle;
+import java.nio.ByteBuffer;
 
 /**
  * The abstract class Entity represents a generic entity in the game.
  * It provides common attributes and methods for game entities.
  * Subclasses of Entity are expected to provide specific functionality.
+ * Entities only hold simulation state; drawing them is left to the renderer.
  *
  * @author RUOXUAN XU
  */
 abstract public class Entity {
-    private Image image;
-    private Point position;
+    private final Sprite sprite;
+    private final double width;
+    private final double height;
+    private double x;
+    private double y;
+    private double tickStartX;
+    private double tickStartY;
     private boolean isActive;
 
     /**
-     * Method that constructs an Entity object at the specified position with the given image.
+     * Method that constructs an Entity object at the specified position with the given sprite.
      * All the entities are active initially as they exist on the screen.
      *
      * @param initialX The initial x-coordinate of the entity.
      * @param initialY The initial y-coordinate of the entity.
-     * @param image The image representing the entity.
+     * @param sprite The sprite representing the entity.
      */
-    public Entity(double initialX, double initialY, Image image) {
-        this.position = new Point(initialX, initialY);
-        this.image = image;
+    public Entity(double initialX, double initialY, Sprite sprite) {
+        this.x = initialX;
+        this.y = initialY;
+        this.tickStartX = initialX;
+        this.tickStartY = initialY;
+        this.sprite = sprite;
+        this.width = sprite.getWidth();
+        this.height = sprite.getHeight();
         this.isActive = true;
     }
 
     /**
-     * Method that updates the position and image of the entity on the screen.
-     * If the entity is active, it draws the image at its current position.
+     * Method that retrieves the sprite the entity is currently drawn with.
+     *
+     * @return The sprite of the entity.
+     */
+    public Sprite getSprite() {
+        return sprite;
+    }
+
+    /**
+     * Method that checks whether the bounding boxes of this entity and another entity overlap.
+     * Touching edges count as overlapping, as they do for bagel rectangles.
+     *
+     * @param other The other entity.
+     * @return True if the two bounding boxes overlap, false otherwise.
      */
-    public void update() {
-        if (isActive()){
-            image.drawFromTopLeft(this.position.x, this.position.y);
-        }
+    public boolean intersects(Entity other) {
+        return x <= other.x + other.width && other.x <= x + width
+                && y <= other.y + other.height && other.y <= y + height;
     }
 
     /**
-     * Method that returns the bounding box of the entity.
-     * The bounding box is a rectangle that encloses the entity's image.
+     * Method that retrieves the x-coordinate of the entity's top-left corner.
      *
-     * @return The bounding box of the entity.
+     * @return The x-coordinate of the entity.
      */
-    public Rectangle getBoundingBox(){
-        return new Rectangle(position, image.getWidth(), image.getHeight());
+    public double getX() {
+        return x;
     }
 
     /**
-     * Method that retrieves the position of the entity.
+     * Method that retrieves the y-coordinate of the entity's top-left corner.
      *
-     * @return The position of the entity.
+     * @return The y-coordinate of the entity.
      */
-    public Point getPosition() {
-        return position;
+    public double getY() {
+        return y;
     }
 
     /**
-     * Method that sets the position of the entity.
+     * Method that retrieves the width of the entity's bounding box.
      *
-     * @param position The new position of the entity.
+     * @return The width of the entity.
      */
-    public void setPosition(Point position) {
-        this.position = position;
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * Method that retrieves the height of the entity's bounding box.
+     *
+     * @return The height of the entity.
+     */
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * Method that sets the position of the entity in place.
+     *
+     * @param x The new x-coordinate of the entity.
+     * @param y The new y-coordinate of the entity.
+     */
+    public void setPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Method that records the entity's position at the start of a tick,
+     * so the renderer can interpolate between this tick and the next.
+     */
+    public void markTickStart() {
+        tickStartX = x;
+        tickStartY = y;
+    }
+
+    /**
+     * Method that retrieves the x-coordinate of the entity at the start of the latest tick.
+     *
+     * @return The x-coordinate of the entity before the latest tick.
+     */
+    public double getTickStartX() {
+        return tickStartX;
+    }
+
+    /**
+     * Method that retrieves the y-coordinate of the entity at the start of the latest tick.
+     *
+     * @return The y-coordinate of the entity before the latest tick.
+     */
+    public double getTickStartY() {
+        return tickStartY;
     }
 
     /**
@@ -83,4 +149,39 @@ abstract public class Entity {
     public void setActive(boolean active) {
         isActive = active;
     }
+
+    /**
+     * Method that returns how many bytes writeState writes for the entity.
+     *
+     * @return The size of the entity's state in a snapshot.
+     */
+    public int stateBytes() {
+        return 4 * Double.BYTES + 1;
+    }
+
+    /**
+     * Method that writes the changing state of the entity, its position and whether it is active,
+     * to a game snapshot. Subclasses with more state write it after calling this method.
+     *
+     * @param out The buffer of the snapshot.
+     */
+    public void writeState(ByteBuffer out) {
+        out.putDouble(x);
+        out.putDouble(y);
+        out.putDouble(tickStartX);
+        out.putDouble(tickStartY);
+        out.put((byte) (isActive ? 1 : 0));
+    }
+
+    /**
+     * Method that restores the state written by writeState, in the same order.
+     *
+     * @param in The buffer of the snapshot.
+     */
+    public void readState(ByteBuffer in) {
+        setPosition(in.getDouble(), in.getDouble());
+        tickStartX = in.getDouble();
+        tickStartY = in.getDouble();
+        isActive = in.get() != 0;
+    }
 }
@@ -0,0 +1,63 @@
+/**
+ * The FixedTimestep class schedules game ticks at a fixed rate, independent of the frame rate.
+ * Each frame, the time elapsed since the previous frame is added to an accumulator,
+ * and one tick is run for every full tick interval it holds. A slow frame therefore catches up
+ * with several ticks, and a fast frame may run none. When the game falls too far behind,
+ * the remaining time is dropped so it does not keep spiralling.
+ * The part of a tick left in the accumulator is used to interpolate positions for drawing.
+ *
+ * @author RUOXUAN XU
+ */
+public class FixedTimestep {
+    private final static long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long tickNanos;
+    private final int maxTicksPerFrame;
+    private long accumulator;
+    private long lastTime;
+    private boolean hasStarted;
+
+    /**
+     * Method that constructs a FixedTimestep running at the given rate.
+     *
+     * @param ticksPerSecond The number of simulation ticks per second.
+     * @param maxTicksPerFrame The most ticks that may be run to catch up in a single frame.
+     */
+    public FixedTimestep(int ticksPerSecond, int maxTicksPerFrame) {
+        this.tickNanos = NANOS_PER_SECOND / ticksPerSecond;
+        this.maxTicksPerFrame = maxTicksPerFrame;
+    }
+
+    /**
+     * Method that adds the time since the previous frame and returns how many ticks should run now.
+     * The first call only starts the clock and runs a single tick.
+     *
+     * @param now The current time in nanoseconds, as given by System.nanoTime.
+     * @return The number of ticks to run in this frame.
+     */
+    public int advance(long now) {
+        if (!hasStarted) {
+            hasStarted = true;
+            lastTime = now;
+            return 1;
+        }
+        accumulator += now - lastTime;
+        lastTime = now;
+
+        int ticks = (int) Math.min(accumulator / tickNanos, maxTicksPerFrame);
+        accumulator -= ticks * tickNanos;
+        if (accumulator >= tickNanos) {
+            accumulator = 0;
+        }
+        return ticks;
+    }
+
+    /**
+     * Method that returns how far the clock is between the last tick and the next one.
+     *
+     * @return A value from 0 (at the last tick) up to but not including 1 (at the next tick).
+     */
+    public double getAlpha() {
+        return (double) accumulator / tickNanos;
+    }
+}
@@ -0,0 +1,158 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * The FrameProfiler class times the phases of each frame and keeps a latency histogram per phase.
+ * Code wraps a phase in start and stop; while the profiler is disabled, start returns at once
+ * and stop does nothing, so the probes can stay in production builds.
+ * While enabled, the histograms are written to a log file at a fixed interval and then cleared,
+ * so each dump and the on-screen overlay describe the most recent interval.
+ *
+ * @author RUOXUAN XU
+ */
+public class FrameProfiler {
+    /**
+     * The phase moving the player from the tick's keys.
+     */
+    public final static int PLAYER = 0;
+
+    /**
+     * The phase checking the player and ghosts against each other, the eatables and the walls.
+     */
+    public final static int COLLISIONS = 1;
+
+    /**
+     * The phase moving the ghosts.
+     */
+    public final static int GHOSTS = 2;
+
+    /**
+     * The phase drawing the background and walls.
+     */
+    public final static int DRAW_WORLD = 3;
+
+    /**
+     * The phase drawing the eatables, pellet, ghosts and player.
+     */
+    public final static int DRAW_ENTITIES = 4;
+
+    /**
+     * The phase drawing the score and lives.
+     */
+    public final static int DRAW_HUD = 5;
+
+    /**
+     * The whole frame, from reading input to the end of drawing.
+     */
+    public final static int FRAME = 6;
+
+    private final static String[] PHASE_NAMES = {"player", "collisions", "ghosts", "draw world",
+            "draw entities", "draw hud", "frame"};
+    private final static double NANOS_PER_MICRO = 1_000.0;
+    private final static double P50 = 0.50;
+    private final static double P99 = 0.99;
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASE_NAMES.length];
+    private final String logFile;
+    private final long dumpIntervalNanos;
+    private boolean enabled;
+    private long lastDump;
+
+    /**
+     * Method that constructs a disabled FrameProfiler.
+     *
+     * @param logFile The file the histograms are appended to.
+     * @param dumpIntervalNanos The time between two dumps to the log file.
+     */
+    public FrameProfiler(String logFile, long dumpIntervalNanos) {
+        this.logFile = logFile;
+        this.dumpIntervalNanos = dumpIntervalNanos;
+        for (int phase = 0; phase < histograms.length; phase++) {
+            histograms[phase] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Method that returns the start time of a phase, or 0 without reading the clock when disabled.
+     *
+     * @return The start time to pass to stop.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Method that records the time since start for a phase, if the profiler is enabled.
+     *
+     * @param phase The phase that ended.
+     * @param start The value returned by start when the phase began.
+     */
+    public void stop(int phase, long start) {
+        if (enabled) {
+            histograms[phase].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Method that writes the histograms to the log file and clears them once the dump interval has passed.
+     */
+    public void dumpIfDue() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - lastDump < dumpIntervalNanos) {
+            return;
+        }
+        lastDump = now;
+        try (PrintWriter out = new PrintWriter(new FileWriter(logFile, true))) {
+            out.println("frame profile at " + System.currentTimeMillis());
+            for (String line : getReport()) {
+                out.println(line);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Method that describes every phase as its sample count and p50, p99 and max in microseconds.
+     *
+     * @return One line per phase.
+     */
+    public String[] getReport() {
+        String[] lines = new String[histograms.length];
+        for (int phase = 0; phase < histograms.length; phase++) {
+            LatencyHistogram histogram = histograms[phase];
+            lines[phase] = String.format("%-14s n=%-6d p50=%8.1fus p99=%8.1fus max=%8.1fus", PHASE_NAMES[phase],
+                    histogram.getCount(), histogram.getPercentile(P50) / NANOS_PER_MICRO,
+                    histogram.getPercentile(P99) / NANOS_PER_MICRO, histogram.getMax() / NANOS_PER_MICRO);
+        }
+        return lines;
+    }
+
+    /**
+     * Method that checks whether the profiler is recording.
+     *
+     * @return True if enabled, false otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Method that turns recording on or off. Turning it on starts a new dump interval.
+     *
+     * @param enabled True to record, false to stop recording.
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            lastDump = System.nanoTime();
+        }
+        this.enabled = enabled;
+    }
+}
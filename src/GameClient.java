@@ -0,0 +1,187 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Arrays;
+
+/**
+ * The GameClient class is a thin client of a GameServer session.
+ * It sends the player's keys and mirrors the server's game into a local GameEngine, which is never ticked
+ * and only used to hold and draw the state it receives. A reader thread decodes every update against the
+ * snapshot it was encoded from and acknowledges it; the game thread then restores the newest snapshot into
+ * the mirror, so the mirror only changes between frames.
+ * The mirror must play the same level files as the server, as only the changing state is sent.
+ *
+ * @author RUOXUAN XU
+ */
+public class GameClient {
+    private final static int NO_TICK = -1;
+    private final static int FRAME_HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final GameEngine mirror;
+    private final byte[][] history = new byte[GameServer.HISTORY][];
+    private final int[] historyTicks = new int[GameServer.HISTORY];
+    private byte[] frame = new byte[0];
+    private volatile byte[] latest;
+    private volatile int latestTick = NO_TICK;
+    private volatile long bytesReceived;
+    private volatile boolean isClosed;
+    private byte[] applied;
+    private volatile int lastInput = GameInput.NONE;
+
+    /**
+     * Method that connects to a server and starts receiving updates into the mirror.
+     *
+     * @param host The host name of the server.
+     * @param port The port of the server.
+     * @param mirror The engine to restore the server's game into, playing the same levels as the server.
+     * @throws IOException If the server cannot be reached.
+     */
+    public GameClient(String host, int port, GameEngine mirror) throws IOException {
+        this.socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        this.mirror = mirror;
+        Arrays.fill(historyTicks, NO_TICK);
+        Thread reader = new Thread(this::read, "client-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Method that decodes the server's updates until the connection closes.
+     * Each decoded snapshot is kept for the server to encode later updates against, and acknowledged.
+     */
+    private void read() {
+        try {
+            while (true) {
+                int length = in.readInt() - FRAME_HEADER_BYTES;
+                int tick = in.readInt();
+                int base = in.readInt();
+                if (frame.length < length) {
+                    frame = new byte[length];
+                }
+                in.readFully(frame, 0, length);
+
+                byte[] baseline = null;
+                if (base != NO_TICK) {
+                    if (historyTicks[base % GameServer.HISTORY] != base) {
+                        throw new IOException("update " + tick + " is based on tick " + base + ", which is not held");
+                    }
+                    baseline = history[base % GameServer.HISTORY];
+                }
+                byte[] snapshot = SnapshotDelta.decode(baseline, frame, length);
+                history[tick % GameServer.HISTORY] = snapshot;
+                historyTicks[tick % GameServer.HISTORY] = tick;
+                bytesReceived += Integer.BYTES + FRAME_HEADER_BYTES + length;
+                latest = snapshot;
+                latestTick = tick;
+                send(tick, lastInput & ~GameInput.START);
+            }
+        } catch (EOFException e) {
+            isClosed = true;
+        } catch (IOException e) {
+            if (!isClosed) {
+                e.printStackTrace();
+            }
+            isClosed = true;
+        }
+    }
+
+    /**
+     * Method that sends the keys held in this frame, if they differ from the keys sent last.
+     * Acknowledgements repeat the held keys without the start key, so a start press is only sent once.
+     *
+     * @param input The keys held, as GameInput flags.
+     */
+    public void sendInput(int input) {
+        if (input != lastInput) {
+            lastInput = input;
+            try {
+                send(latestTick, input);
+            } catch (IOException e) {
+                isClosed = true;
+            }
+        }
+    }
+
+    /**
+     * Method that writes an acknowledgement and the keys to the server.
+     */
+    private synchronized void send(int tick, int input) throws IOException {
+        out.writeInt(tick);
+        out.writeByte(input);
+        out.flush();
+    }
+
+    /**
+     * Method that restores the newest received snapshot into the mirror, if it has not been restored yet.
+     * It must be called on the thread that reads the mirror.
+     *
+     * @return True if the mirror changed.
+     */
+    public boolean update() {
+        byte[] snapshot = latest;
+        if (snapshot == null || snapshot == applied) {
+            return false;
+        }
+        mirror.restore(new GameSnapshot(snapshot));
+        applied = snapshot;
+        return true;
+    }
+
+    /**
+     * Method that disconnects from the server.
+     */
+    public void close() {
+        isClosed = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Method that retrieves the engine the server's game is mirrored into.
+     *
+     * @return The mirror engine.
+     */
+    public GameEngine getMirror() {
+        return mirror;
+    }
+
+    /**
+     * Method that retrieves the server tick of the newest update received.
+     *
+     * @return The newest tick, or -1 before the first update.
+     */
+    public int getLatestTick() {
+        return latestTick;
+    }
+
+    /**
+     * Method that retrieves how many bytes of updates have been received.
+     *
+     * @return The number of bytes received.
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Method that checks whether the connection has closed.
+     *
+     * @return True if the client is disconnected.
+     */
+    public boolean isClosed() {
+        return isClosed;
+    }
+}
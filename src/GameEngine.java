@@ -0,0 +1,702 @@
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The GameEngine class runs the rules of the Shadow Pac game without any rendering.
+ * It owns the walls, eatable entities, ghosts, player, pellet and frenzy state, and
+ * advances them one tick at a time from the keys given to tick.
+ * All timers are counted in ticks, which ShadowPac runs at a fixed rate.
+ * It does not need an OpenGL window, so it can run headless for testing and bots,
+ * while ShadowPac draws the state kept here.
+ * Once the first level is won, the second level is loaded on a background thread during the
+ * level-complete countdown and swapped in as a whole when the countdown ends.
+ * The state of a running game can be saved into a GameSnapshot and restored later, to branch and roll back play.
+ *
+ * @author RUOXUAN XU
+ */
+public class GameEngine {
+    private final static String WORLD_FILE_0 = "res/level0.bin";
+    private final static String WORLD_FILE_1 = "res/level1.bin";
+    private final static int FRENZY_INTERVAL = 1000;
+    private final static int LEVEL_INTERVAL = 300;
+    private final static int WIN_SCORE_0 = 1210;
+    private final static int WIN_SCORE_1 = 800;
+    private final static int PLAYER_ID = 0;
+    private final static int GHOSTS_PER_TASK = 32;
+    private final static int SNAPSHOT_MAGIC = 0x53505353;
+    private final static int SNAPSHOT_HEADER_BYTES = 5 * Integer.BYTES + 2 + Long.BYTES;
+    private final static int STARTED_FLAG = 1;
+    private final static int GAME_OVER_FLAG = 2;
+    private final static int WIN_FLAG = 4;
+    private final static int FRENZY_FLAG = 8;
+    private final static ExecutorService LEVEL_LOADER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "level-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The index of the first level.
+     */
+    public final static int LEVEL_0 = 0;
+
+    /**
+     * The index of the second and final level.
+     */
+    public final static int LEVEL_1 = 1;
+
+    private final String worldFile0;
+    private final String worldFile1;
+    private final long seed;
+    private final GameRandom random;
+    private ArrayList<Wall> walls;
+    private WallGrid wallGrid;
+    private NavigationGrid navigation;
+    private CompletableFuture<LevelData> nextLevel;
+    private long preloadState;
+    private final SweepAndPrune movers = new SweepAndPrune();
+    private int[] touchingGhosts = new int[Ghost.ALL_DIRECTION];
+    private int[] turningGhosts = new int[Ghost.ALL_DIRECTION];
+    private EatableStore eatableEntities;
+    private ArrayList<Ghost> ghosts;
+    private Player player;
+    private Pellet pellet;
+    private boolean hasStarted;
+    private boolean gameOver;
+    private boolean playerWin;
+    private boolean isFrenzyMode;
+    private boolean isChase;
+    private boolean isGhostCollision;
+    private int level;
+    private int frenzyCounter = FRENZY_INTERVAL;
+    private int levelCounter = LEVEL_INTERVAL;
+    private FrameProfiler profiler = new FrameProfiler(null, Long.MAX_VALUE);
+    private ForkJoinPool ghostPool;
+
+    /**
+     * Method that constructs a new game engine playing the two levels shipped with the game,
+     * seeded from the clock.
+     * The game starts at level 0, and the game will be reset to specific status.
+     */
+    public GameEngine() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Method that constructs a new game engine playing the two levels shipped with the game.
+     * The game starts at level 0, and the game will be reset to specific status.
+     *
+     * @param seed The seed of the game's random generator, from which every ghost's generator is split.
+     */
+    public GameEngine(long seed) {
+        this(WORLD_FILE_0, WORLD_FILE_1, seed);
+    }
+
+    /**
+     * Method that constructs a new game engine playing the given level files.
+     * The game starts at level 0, and the game will be reset to specific status.
+     * Two engines with the same levels, seed and inputs play exactly the same game.
+     *
+     * @param worldFile0 The CSV or binary file of the first level.
+     * @param worldFile1 The CSV or binary file of the second level.
+     * @param seed The seed of the game's random generator, from which every ghost's generator is split.
+     * @throws UncheckedIOException If the first level cannot be read.
+     */
+    public GameEngine(String worldFile0, String worldFile1, long seed) {
+        this.worldFile0 = worldFile0;
+        this.worldFile1 = worldFile1;
+        this.seed = seed;
+        this.random = new GameRandom(seed);
+        level = LEVEL_0;
+        resetGame(LevelData.load(worldFile0, random));
+    }
+
+    /**
+     * Method that resets the game state to prepare for a new game.
+     * It sets the game status flags to their initial values and takes the walls,
+     * eatable entities, ghosts, player and pellet from the loaded level.
+     *
+     * @param data The loaded level to play.
+     */
+    private void resetGame(LevelData data){
+        hasStarted = false;
+        gameOver = false;
+        playerWin = false;
+        isFrenzyMode = false;
+
+        walls = data.getWalls();
+        eatableEntities = data.getEatableEntities();
+        ghosts = data.getGhosts();
+        player = data.getPlayer();
+        pellet = data.getPellet();
+        wallGrid = data.getWallGrid();
+        navigation = data.getNavigation();
+
+        movers.clear();
+        movers.add(player);
+        for (Ghost ghost : ghosts) {
+            movers.add(ghost);
+        }
+    }
+
+    /**
+     * Method that advances the game by one tick.
+     * Before the level starts, it waits for the start key. After the level is won,
+     * it counts down to the next level. Otherwise it runs one step of gameplay.
+     *
+     * @param input The keys for this tick, as GameInput flags.
+     */
+    public void tick(int input) {
+        if(!hasStarted){
+            if (GameInput.isSet(input, GameInput.START)){
+                hasStarted = true;
+            }
+        } else if (playerWin) {
+            updateLevel();
+        } else if (!gameOver) {
+            updateGame(input);
+        }
+    }
+
+    /**
+     * Method that updates the game state during regular gameplay.
+     * It tracks the frenzy game mode and winning status of the player.
+     *
+     * @param input The keys for this tick, as GameInput flags.
+     */
+    private void updateGame(int input) {
+        player.markTickStart();
+        for (Ghost current : ghosts) {
+            current.markTickStart();
+        }
+        long start = profiler.start();
+        player.update(input);
+        profiler.stop(FrameProfiler.PLAYER, start);
+
+        start = profiler.start();
+        checkCollisions(player);
+        profiler.stop(FrameProfiler.COLLISIONS, start);
+
+        start = profiler.start();
+        if (isFrenzyMode && frenzyCounter == 0) {
+            frenzyModeEnd();
+        } else {
+            if (isFrenzyMode) {
+                frenzyCounter--;
+            }
+            updateGhosts(ghosts);
+        }
+        profiler.stop(FrameProfiler.GHOSTS, start);
+
+        if (player.isDead()) {
+            gameOver = true;
+        } else{
+            if (level == LEVEL_0 && player.reachedScore(WIN_SCORE_0)) {
+                playerWin = true;
+                preloadNextLevel();
+            } else if (level == LEVEL_1 && player.reachedScore(WIN_SCORE_1)) {
+                playerWin = true;
+            }
+        }
+    }
+
+    /**
+     * Method that starts loading the second level on a background thread.
+     * The level is loaded with a copy of the game's generator, which the game's generator catches up with
+     * when the level is swapped in, so the ghosts get the same generators as if the level were loaded
+     * on this thread, and the game's generator can be saved during the countdown.
+     */
+    private void preloadNextLevel() {
+        preloadState = random.getState();
+        GameRandom loaderRandom = new GameRandom(preloadState);
+        nextLevel = CompletableFuture.supplyAsync(() -> LevelData.load(worldFile1, loaderRandom), LEVEL_LOADER);
+    }
+
+    /**
+     * Method that updates the game state when transitioning to a new level.
+     * When the countdown ends, the preloaded level replaces the current one within the same tick,
+     * waiting for it only if loading has not finished yet.
+     * If the next level could not be read, the error is printed and the game ends there, as it cannot go on.
+     */
+    private void updateLevel() {
+        if (level != LEVEL_1) {
+            if (levelCounter == 0) {
+                LevelData data;
+                try {
+                    data = nextLevel.join();
+                } catch (CompletionException e) {
+                    e.getCause().printStackTrace();
+                    nextLevel = null;
+                    playerWin = false;
+                    gameOver = true;
+                    return;
+                }
+                level++;
+                random.setState(data.getRandom().getState());
+                resetGame(data);
+                nextLevel = null;
+            } else {
+                levelCounter--;
+            }
+        }
+    }
+
+    /**
+     * Method that updates the ghosts in the game, rebuilding the distance field first if they chase the player.
+     * Each ghost is swept against the walls as soon as it moves, and turns once if a wall stopped it.
+     * With a ghost pool set, ghost lists large enough to split into more than one range are
+     * updated on the pool's workers, a range per task; smaller lists would run as a single task anyway.
+     *
+     @param ghosts The Arraylist of ghosts to update.
+     */
+    private void updateGhosts(ArrayList<Ghost> ghosts) {
+        NavigationGrid grid = null;
+        if (isChase) {
+            navigation.update(player);
+            grid = navigation;
+        }
+        if (ghostPool != null && ghosts.size() > GHOSTS_PER_TASK) {
+            ghostPool.invoke(new GhostsTask(grid, 0, ghosts.size()));
+        } else {
+            updateGhosts(grid, 0, ghosts.size());
+        }
+    }
+
+    /**
+     * Method that updates a range of the ghosts.
+     * A ghost's update only changes that ghost and only draws from its own random generator,
+     * and it only reads the walls and the distance field, which stay fixed while the ghosts move.
+     * Ghosts never read each other, so any split of the list gives exactly the same result.
+     *
+     * @param grid The grid the ghosts chase through, or null.
+     * @param from The index of the first ghost to update.
+     * @param to The index after the last ghost to update.
+     */
+    private void updateGhosts(NavigationGrid grid, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Ghost current = ghosts.get(i);
+            current.update(grid);
+            if (wallGrid.sweep(current, current.getPreviousX(), current.getPreviousY())) {
+                current.changeDirection();
+            }
+        }
+    }
+
+    /**
+     * Method that checks for collisions between the player and the other entities, and performs
+     * corresponding actions in normal and frenzy mode respectively.
+     * The player's move is swept against the walls first, so it only eats what it actually reaches.
+     *
+     * @param player The player entity in the game.
+     */
+    public void checkCollisions(Player player){
+        wallGrid.sweep(player, player.getPreviousX(), player.getPreviousY());
+
+        if(pellet != null){
+            if(pellet.intersects(player) && pellet.isActive()){
+                pellet.isEaten();
+                frenzyModeStart();
+            }
+        }
+
+        checkGhostCollision(ghosts);
+
+        int points = eatableEntities.eatIntersecting(player);
+        if (points > 0) {
+            player.incrementScore(points);
+        }
+    }
+
+    /**
+     * Method that checks for collisions between the ghosts and the player, and performs
+     * corresponding actions in normal and frenzy mode respectively.
+     * A sweep-and-prune pass over the player and ghosts finds the overlapping pairs. The ghosts touching
+     * the player are then handled in list order, checked again as an earlier ghost may have reset the player.
+     * If ghost collisions are on, active ghosts touching another active ghost turn as if they had hit a wall.
+     * They are collected first and turned once each, in list order, however many other ghosts they touch.
+     *
+     * @param ghosts The Arraylist of ghosts in the game.
+     */
+    private void checkGhostCollision(ArrayList<Ghost> ghosts){
+        int pairs = movers.findPairs();
+        int touching = 0;
+        int turning = 0;
+        for (int pair = 0; pair < pairs; pair++) {
+            int first = movers.getFirst(pair);
+            int second = movers.getSecond(pair);
+            if (first == PLAYER_ID) {
+                if (touching == touchingGhosts.length) {
+                    touchingGhosts = Arrays.copyOf(touchingGhosts, touching * 2);
+                }
+                touchingGhosts[touching++] = second - 1;
+            } else if (isGhostCollision && ghosts.get(first - 1).isActive() && ghosts.get(second - 1).isActive()) {
+                if (turning + 2 > turningGhosts.length) {
+                    turningGhosts = Arrays.copyOf(turningGhosts, turningGhosts.length * 2);
+                }
+                turningGhosts[turning++] = first - 1;
+                turningGhosts[turning++] = second - 1;
+            }
+        }
+        Arrays.sort(turningGhosts, 0, turning);
+        for (int i = 0; i < turning; i++) {
+            if (i == 0 || turningGhosts[i] != turningGhosts[i - 1]) {
+                ghosts.get(turningGhosts[i]).changeDirection();
+            }
+        }
+        Arrays.sort(touchingGhosts, 0, touching);
+
+        for (int i = 0; i < touching; i++) {
+            Ghost current = ghosts.get(touchingGhosts[i]);
+            if (player.intersects(current)) {
+                if(isFrenzyMode){
+                    if(current.isActive()) {
+                        player.incrementScore(Ghost.FRENZY_SCORE);
+                    }
+                }else {
+                    player.reduceLives();
+                    player.resetPosition();
+                }
+                current.resetPosition();
+            }
+        }
+    }
+
+    /**
+     * Method that starts the frenzy mode in the game.
+     * During frenzy mode, the player and ghosts exhibit special behavior.
+     * The existing ghosts switch into frenzy mode, so nothing is allocated.
+     */
+    private void frenzyModeStart(){
+        isFrenzyMode = true;
+        frenzyCounter = FRENZY_INTERVAL;
+        player.setFrenzyMode(true);
+        for(Ghost ghost: ghosts){
+            ghost.setFrenzyMode(true);
+        }
+    }
+
+    /**
+     * Method that ends the frenzy mode in the game.
+     * After ending frenzy mode, the game returns to regular gameplay.
+     * The ghosts, including eaten ones, are reset to their initial positions.
+     */
+    private void frenzyModeEnd(){
+        this.isFrenzyMode = false;
+        player.setFrenzyMode(false);
+        for(Ghost current: ghosts){
+            current.setFrenzyMode(false);
+            current.resetPosition();
+        }
+    }
+
+    /**
+     * Method that saves the state of the game into a snapshot, reusing the snapshot's buffer.
+     * The snapshot holds the level, flags, timers and random state, the player, every ghost, the pellet
+     * and the items eaten so far. Settings such as chasing and the ghost pool are not part of it.
+     *
+     * @param snapshot The snapshot to overwrite.
+     */
+    public void save(GameSnapshot snapshot) {
+        int capacity = SNAPSHOT_HEADER_BYTES + player.stateBytes() + 1 + eatableEntities.maxEatenBytes();
+        for (Ghost current : ghosts) {
+            capacity += current.stateBytes();
+        }
+        ByteBuffer out = snapshot.startWriting(capacity);
+        out.putInt(SNAPSHOT_MAGIC);
+        out.put((byte) level);
+        out.put((byte) ((hasStarted ? STARTED_FLAG : 0) | (gameOver ? GAME_OVER_FLAG : 0)
+                | (playerWin ? WIN_FLAG : 0) | (isFrenzyMode ? FRENZY_FLAG : 0)));
+        out.putInt(frenzyCounter);
+        out.putInt(levelCounter);
+        out.putLong(random.getState());
+        out.putInt(ghosts.size());
+        out.putInt(eatableEntities.size());
+        player.writeState(out);
+        for (Ghost current : ghosts) {
+            current.writeState(out);
+        }
+        out.put((byte) (pellet != null && pellet.isActive() ? 1 : 0));
+        eatableEntities.writeEaten(out);
+        snapshot.finishWriting();
+    }
+
+    /**
+     * Method that restores the game to the state saved in a snapshot by an engine playing the same levels.
+     * Within the same level only the saved fields are overwritten; a snapshot of the other level first
+     * reloads that level. Restoring into the level-complete countdown restarts the background load of the
+     * next level, unless the load already running started from the same random state.
+     * The layout of the snapshot is checked against the level before anything is changed, so a snapshot
+     * that is not a game snapshot, is cut short or belongs to other levels leaves the game as it was.
+     *
+     * @param snapshot The snapshot to restore.
+     * @throws IllegalArgumentException If the snapshot is not a whole snapshot of a game on these levels.
+     * @throws UncheckedIOException If the snapshot's level has to be reloaded and cannot be read.
+     */
+    public void restore(GameSnapshot snapshot) {
+        ByteBuffer in = snapshot.startReading();
+        if (in.remaining() < SNAPSHOT_HEADER_BYTES || in.getInt() != SNAPSHOT_MAGIC) {
+            throw new IllegalArgumentException("not a game snapshot");
+        }
+        int savedLevel = in.get();
+        if (savedLevel != LEVEL_0 && savedLevel != LEVEL_1) {
+            throw new IllegalArgumentException("the snapshot was saved on unknown level " + savedLevel);
+        }
+        int flags = in.get();
+        int savedFrenzyCounter = in.getInt();
+        int savedLevelCounter = in.getInt();
+        long savedRandom = in.getLong();
+        int ghostCount = in.getInt();
+        int eatableCount = in.getInt();
+
+        LevelData data = savedLevel == level ? null
+                : LevelData.load(savedLevel == LEVEL_0 ? worldFile0 : worldFile1, new GameRandom(seed));
+        Player savedPlayer = data == null ? player : data.getPlayer();
+        ArrayList<Ghost> savedGhosts = data == null ? ghosts : data.getGhosts();
+        EatableStore savedEatables = data == null ? eatableEntities : data.getEatableEntities();
+        if (ghostCount != savedGhosts.size() || eatableCount != savedEatables.size()) {
+            throw new IllegalArgumentException("the snapshot was saved on a different level");
+        }
+        int entityBytes = savedPlayer.stateBytes() + 1;
+        for (Ghost current : savedGhosts) {
+            entityBytes += current.stateBytes();
+        }
+        if (in.remaining() < entityBytes || !savedEatables.canReadEaten(in, in.position() + entityBytes)) {
+            throw new IllegalArgumentException("the snapshot is cut short or corrupt");
+        }
+
+        if (data != null) {
+            level = savedLevel;
+            resetGame(data);
+        }
+        hasStarted = (flags & STARTED_FLAG) != 0;
+        gameOver = (flags & GAME_OVER_FLAG) != 0;
+        playerWin = (flags & WIN_FLAG) != 0;
+        isFrenzyMode = (flags & FRENZY_FLAG) != 0;
+        frenzyCounter = savedFrenzyCounter;
+        levelCounter = savedLevelCounter;
+        random.setState(savedRandom);
+        player.readState(in);
+        for (Ghost current : ghosts) {
+            current.readState(in);
+        }
+        boolean isPelletActive = in.get() != 0;
+        if (pellet != null) {
+            pellet.setActive(isPelletActive);
+        }
+        eatableEntities.readEaten(in);
+
+        if (level == LEVEL_0 && playerWin) {
+            if (nextLevel == null || preloadState != random.getState()) {
+                preloadNextLevel();
+            }
+        } else {
+            nextLevel = null;
+        }
+    }
+
+    /**
+     * Method that sets whether moving ghosts chase the player through the level's navigation grid
+     * instead of following their own movement patterns. Chasing is off by default.
+     *
+     * @param isChase True if moving ghosts should chase the player, otherwise not.
+     */
+    public void setChase(boolean isChase) {
+        this.isChase = isChase;
+    }
+
+    /**
+     * Method that checks whether moving ghosts chase the player.
+     *
+     * @return True if moving ghosts chase the player, otherwise not.
+     */
+    public boolean isChase() {
+        return isChase;
+    }
+
+    /**
+     * Method that sets whether ghosts that run into each other turn around. This is off by default,
+     * as in the original game ghosts pass through each other.
+     *
+     * @param isGhostCollision True if touching ghosts should turn, otherwise not.
+     */
+    public void setGhostCollision(boolean isGhostCollision) {
+        this.isGhostCollision = isGhostCollision;
+    }
+
+    /**
+     * Method that checks whether ghosts that run into each other turn around.
+     *
+     * @return True if touching ghosts turn, otherwise not.
+     */
+    public boolean isGhostCollision() {
+        return isGhostCollision;
+    }
+
+    /**
+     * Method that sets the pool that large numbers of ghosts are updated on in parallel.
+     * The game plays exactly the same with or without a pool, as every ghost is updated independently.
+     * There is no pool by default, which suits the shipped levels and engines that already run in parallel.
+     *
+     * @param ghostPool The pool to update ghosts on, or null to update them on the ticking thread.
+     */
+    public void setGhostPool(ForkJoinPool ghostPool) {
+        this.ghostPool = ghostPool;
+    }
+
+    /**
+     * Method that sets the profiler that times the phases of each tick.
+     * The engine starts with a disabled profiler of its own.
+     *
+     * @param profiler The profiler to record into.
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Method that retrieves the walls of the current level.
+     *
+     * @return The walls of the level.
+     */
+    public ArrayList<Wall> getWalls() {
+        return walls;
+    }
+
+    /**
+     * Method that retrieves the walls of the next level once it has been loaded in the background,
+     * so the renderer can prepare for it before the level changes.
+     *
+     * @return The walls of the next level, or null if no level is waiting to be swapped in.
+     */
+    public ArrayList<Wall> getNextWalls() {
+        if (nextLevel == null || !nextLevel.isDone()) {
+            return null;
+        }
+        return nextLevel.join().getWalls();
+    }
+
+    /**
+     * Method that retrieves the dots and cherries of the current level.
+     *
+     * @return The store of eatable entities of the level.
+     */
+    public EatableStore getEatableEntities() {
+        return eatableEntities;
+    }
+
+    /**
+     * Method that retrieves the ghosts of the current level.
+     *
+     * @return The ghosts of the level.
+     */
+    public ArrayList<Ghost> getGhosts() {
+        return ghosts;
+    }
+
+    /**
+     * Method that retrieves the player.
+     *
+     * @return The player of the level.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Method that retrieves the pellet of the current level.
+     *
+     * @return The pellet, or null if the level has none.
+     */
+    public Pellet getPellet() {
+        return pellet;
+    }
+
+    /**
+     * Method that retrieves the seed the game was started with.
+     *
+     * @return The seed of the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Method that retrieves the current level.
+     *
+     * @return The index of the current level.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Method that checks whether the level has been started.
+     *
+     * @return True if the level has started, false if it waits for the start key.
+     */
+    public boolean hasStarted() {
+        return hasStarted;
+    }
+
+    /**
+     * Method that checks whether the player has lost all lives.
+     *
+     * @return True if the game is over, false otherwise.
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Method that checks whether the player has reached the winning score of the level.
+     *
+     * @return True if the level is won, false otherwise.
+     */
+    public boolean isPlayerWin() {
+        return playerWin;
+    }
+
+    /**
+     * Method that checks whether the game is in frenzy mode.
+     *
+     * @return True if the game is in frenzy mode, false otherwise.
+     */
+    public boolean isFrenzyMode() {
+        return isFrenzyMode;
+    }
+
+    /**
+     * The GhostsTask class updates a range of ghosts, splitting the range while it is large.
+     */
+    private class GhostsTask extends RecursiveAction {
+        private final static long serialVersionUID = 1L;
+
+        private final NavigationGrid grid;
+        private final int from;
+        private final int to;
+
+        GhostsTask(NavigationGrid grid, int from, int to) {
+            this.grid = grid;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GHOSTS_PER_TASK) {
+                updateGhosts(grid, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new GhostsTask(grid, from, middle), new GhostsTask(grid, middle, to));
+        }
+    }
+}
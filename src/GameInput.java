@@ -0,0 +1,52 @@
+/**
+ * The GameInput class defines the input of a single game tick as a set of bit flags.
+ * Packing the keys into an int keeps the simulation free of the bagel Input class,
+ * so the game can be driven by a window, a script or a bot in the same way.
+ *
+ * @author RUOXUAN XU
+ */
+public final class GameInput {
+    /**
+     * No key is pressed.
+     */
+    public final static int NONE = 0;
+
+    /**
+     * The up arrow key is held down.
+     */
+    public final static int UP = 1;
+
+    /**
+     * The down arrow key is held down.
+     */
+    public final static int DOWN = 1 << 1;
+
+    /**
+     * The left arrow key is held down.
+     */
+    public final static int LEFT = 1 << 2;
+
+    /**
+     * The right arrow key is held down.
+     */
+    public final static int RIGHT = 1 << 3;
+
+    /**
+     * The start key was pressed during this tick.
+     */
+    public final static int START = 1 << 4;
+
+    private GameInput() {
+    }
+
+    /**
+     * Method that checks whether a key flag is set in the given input.
+     *
+     * @param input The input of the tick.
+     * @param key The key flag to check.
+     * @return True if the key flag is set, false otherwise.
+     */
+    public static boolean isSet(int input, int key) {
+        return (input & key) != 0;
+    }
+}
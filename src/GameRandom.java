@@ -0,0 +1,74 @@
+/**
+ * The GameRandom class is the random generator of a game and of each of its ghosts.
+ * It is a SplitMix64 generator, the algorithm behind java.util.SplittableRandom, whose whole state
+ * is one long. Unlike SplittableRandom, that state can be read and set, so a snapshot of a game
+ * can capture every generator and a restored game continues with exactly the same random choices.
+ *
+ * @author RUOXUAN XU
+ */
+public class GameRandom {
+    private final static long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private final static long MIX_1 = 0xBF58476D1CE4E5B9L;
+    private final static long MIX_2 = 0x94D049BB133111EBL;
+    private final static int INT_BITS = 32;
+
+    private long state;
+
+    /**
+     * Method that constructs a GameRandom from a seed.
+     *
+     * @param seed The seed of the generator.
+     */
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Method that creates a new generator seeded from this one, for a part of the game with its own choices.
+     *
+     * @return The new generator.
+     */
+    public GameRandom split() {
+        return new GameRandom(nextLong());
+    }
+
+    /**
+     * Method that returns the next random long.
+     *
+     * @return A random long.
+     */
+    public long nextLong() {
+        long z = state += GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * MIX_1;
+        z = (z ^ (z >>> 27)) * MIX_2;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Method that returns a random int from 0 up to, but not including, the bound.
+     *
+     * @param bound The number of possible values, which must be positive.
+     * @return A random int below the bound.
+     */
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> INT_BITS) * bound) >>> INT_BITS);
+    }
+
+    /**
+     * Method that retrieves the state of the generator.
+     *
+     * @return The state of the generator.
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Method that sets the state of the generator, so it continues from where a saved state left off.
+     *
+     * @param state A state returned by getState.
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+}
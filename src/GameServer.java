@@ -0,0 +1,411 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The GameServer class hosts Shadow Pac sessions for thin clients over TCP.
+ * Every connection plays its own game on an authoritative GameEngine, which the server ticks at the
+ * game's fixed rate on a single thread. Clients only send their keys and the last tick they have received,
+ * and after every tick the server sends each client its game's snapshot encoded by SnapshotDelta
+ * against the snapshot of that acknowledged tick, so unchanged state is never sent twice.
+ * The snapshots of the last few ticks are kept per client; a client that falls further behind,
+ * or has not received anything yet, is sent a snapshot against zeros instead.
+ * The ticking thread never writes to a socket. Each session has its own writer thread fed through a short
+ * queue. When a slow client lets the queue fill up, its oldest waiting frame is dropped rather than waited for,
+ * so the newest state always goes out. A dropped frame is never acknowledged, so later frames are still encoded
+ * against snapshots the client has, and one slow client cannot hold up the other games.
+ * Sessions are identified by ids given out in the order clients connect, which stay valid as others leave.
+ *
+ * Clients send an int with the last tick they received followed by a byte of GameInput flags.
+ * The server sends frames of an int length, the tick, the baseline tick or -1, and the encoded snapshot.
+ *
+ * @author RUOXUAN XU
+ */
+public class GameServer {
+    private final static int TICKS_PER_SECOND = 60;
+    private final static long NANOS_PER_TICK = 1_000_000_000L / TICKS_PER_SECOND;
+    private final static int NO_TICK = -1;
+    private final static int FRAME_HEADER_BYTES = 2 * Integer.BYTES;
+    private final static int FRAME_PREFIX_BYTES = Integer.BYTES + FRAME_HEADER_BYTES;
+    private final static int OUTBOX_FRAMES = 8;
+    private final static int SPARE_FRAMES = OUTBOX_FRAMES + 2;
+    private final static double NANOS_PER_MICRO = 1_000.0;
+    private final static String CHASE_OPTION = "--chase";
+
+    /**
+     * The number of ticks of snapshots the server and each client keep to encode and decode updates against.
+     */
+    public final static int HISTORY = 32;
+
+    private final ServerSocket serverSocket;
+    private final boolean isChase;
+    private final ConcurrentHashMap<Integer, Session> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "server-tick");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger sessionIds = new AtomicInteger();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder snapshotBytes = new LongAdder();
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder framesDropped = new LongAdder();
+    private final LongAdder encodeNanos = new LongAdder();
+
+    /**
+     * Method that constructs a GameServer listening on a port.
+     *
+     * @param port The port to listen on, or 0 for any free port.
+     * @param isChase True if the ghosts of every session chase the player.
+     * @throws IOException If the port cannot be opened.
+     */
+    public GameServer(int port, boolean isChase) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+        this.isChase = isChase;
+    }
+
+    /**
+     * This is the main method for hosting sessions until the process is stopped.
+     *
+     * @param args The port to listen on, and --chase to make ghosts chase the player.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("usage: GameServer PORT [--chase]");
+            return;
+        }
+        try {
+            GameServer server = new GameServer(Integer.parseInt(args[0]),
+                    args.length > 1 && args[1].equals(CHASE_OPTION));
+            server.start();
+            System.out.println("serving on port " + server.getPort());
+            Thread.currentThread().join();
+        } catch (IOException | InterruptedException e) {
+            e.printStackTrace();
+            System.exit(-1);
+        }
+    }
+
+    /**
+     * Method that starts accepting clients and ticking their games.
+     */
+    public void start() {
+        Thread acceptor = new Thread(this::accept, "server-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        ticker.scheduleAtFixedRate(this::tickSessions, 0, NANOS_PER_TICK, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Method that stops ticking and disconnects every client.
+     */
+    public void close() {
+        ticker.shutdown();
+        try {
+            ticker.awaitTermination(1, TimeUnit.SECONDS);
+            serverSocket.close();
+        } catch (IOException | InterruptedException e) {
+            e.printStackTrace();
+        }
+        for (Session session : sessions.values()) {
+            session.close();
+        }
+    }
+
+    /**
+     * Method that stops ticking the games, leaving the clients connected, so their state can be compared.
+     */
+    public void stopTicking() {
+        ticker.shutdown();
+        try {
+            ticker.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Method that accepts clients until the server is closed, starting a session with its reader and writer for each.
+     */
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Session session = new Session(socket);
+                sessions.put(session.id, session);
+                session.start();
+            } catch (SocketException e) {
+                return;
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Method that runs one tick of every session and sends each client its update,
+     * dropping the sessions whose clients have gone.
+     */
+    private void tickSessions() {
+        for (Session session : sessions.values()) {
+            if (session.isClosed) {
+                sessions.remove(session.id);
+            } else {
+                session.tick();
+            }
+        }
+    }
+
+    /**
+     * Method that retrieves the port the server listens on.
+     *
+     * @return The local port of the server.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Method that retrieves the number of connected sessions.
+     *
+     * @return The number of sessions.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Method that retrieves the ids of the connected sessions, in the order their clients connected.
+     *
+     * @return The ids of the sessions.
+     */
+    public int[] getSessionIds() {
+        int[] ids = sessions.keySet().stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Method that retrieves the authoritative game of a session.
+     *
+     * @param sessionId The id of the session.
+     * @return The game of the session.
+     * @throws IllegalArgumentException If no session with the id is connected.
+     */
+    public GameEngine getEngine(int sessionId) {
+        return session(sessionId).engine;
+    }
+
+    /**
+     * Method that retrieves the number of ticks a session has run.
+     *
+     * @param sessionId The id of the session.
+     * @return The tick of the session's latest update.
+     * @throws IllegalArgumentException If no session with the id is connected.
+     */
+    public int getTick(int sessionId) {
+        return session(sessionId).tick;
+    }
+
+    /**
+     * Method that looks up a connected session by its id.
+     */
+    private Session session(int sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            throw new IllegalArgumentException("no session " + sessionId);
+        }
+        return session;
+    }
+
+    /**
+     * Method that summarises the updates sent so far.
+     *
+     * @return A one-line report of the frames, bytes and encoding time.
+     */
+    public String getReport() {
+        long sent = framesSent.sum();
+        long encoded = Math.max(sent + framesDropped.sum(), 1);
+        return String.format("%d frames, %d dropped, %.1f bytes per frame (%.1f without deltas), "
+                        + "save and encode %.2f us per frame",
+                sent, framesDropped.sum(), bytesSent.sum() / (double) Math.max(sent, 1),
+                snapshotBytes.sum() / (double) encoded, encodeNanos.sum() / NANOS_PER_MICRO / encoded);
+    }
+
+    /**
+     * The Session class is the game of one client, with the snapshots it has been sent and the frames waiting
+     * to be written to it.
+     */
+    private class Session {
+        private final int id = sessionIds.getAndIncrement();
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final GameEngine engine = new GameEngine();
+        private final GameSnapshot[] history = new GameSnapshot[HISTORY];
+        private final int[] historyTicks = new int[HISTORY];
+        private final ArrayBlockingQueue<byte[]> outbox = new ArrayBlockingQueue<>(OUTBOX_FRAMES);
+        private final ArrayBlockingQueue<byte[]> spareFrames = new ArrayBlockingQueue<>(SPARE_FRAMES);
+        private final Thread reader = new Thread(this::read, "server-reader-" + id);
+        private final Thread writer = new Thread(this::write, "server-writer-" + id);
+        private volatile int input = GameInput.NONE;
+        private final AtomicInteger pendingStart = new AtomicInteger();
+        private volatile int acknowledged = NO_TICK;
+        private volatile boolean isClosed;
+        private volatile int tick;
+
+        Session(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            engine.setChase(isChase);
+            Arrays.fill(historyTicks, NO_TICK);
+            for (int slot = 0; slot < HISTORY; slot++) {
+                history[slot] = new GameSnapshot();
+            }
+        }
+
+        /**
+         * Method that starts the session's reader and writer threads.
+         */
+        void start() {
+            reader.setDaemon(true);
+            writer.setDaemon(true);
+            reader.start();
+            writer.start();
+        }
+
+        /**
+         * Method that reads the client's acknowledgements and keys until it disconnects.
+         * A start press is held until a tick has consumed it, as the window does.
+         */
+        void read() {
+            try {
+                while (true) {
+                    acknowledged = Math.max(acknowledged, in.readInt());
+                    int keys = in.readUnsignedByte();
+                    pendingStart.getAndAccumulate(keys & GameInput.START, (held, start) -> held | start);
+                    input = keys & ~GameInput.START;
+                }
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        /**
+         * Method that writes queued frames to the client until the session closes,
+         * flushing once the queue is empty so frames that queued up go out together.
+         * Written frames are handed back to be filled again.
+         */
+        void write() {
+            try {
+                while (!isClosed) {
+                    byte[] frame = outbox.take();
+                    int length = Integer.BYTES + getInt(frame, 0);
+                    out.write(frame, 0, length);
+                    spareFrames.offer(frame);
+                    bytesSent.add(length);
+                    framesSent.increment();
+                    if (outbox.isEmpty()) {
+                        out.flush();
+                    }
+                }
+            } catch (IOException | InterruptedException e) {
+                close();
+            }
+        }
+
+        /**
+         * Method that ticks the game, saves its snapshot, encodes it against the acknowledged one
+         * and queues the frame for the writer, dropping the oldest waiting frame if the client is too far behind.
+         * The game is saved into the snapshot of its history slot, and encoded straight into a frame the writer
+         * has handed back, so once every buffer has grown to the size of the game a tick allocates nothing.
+         */
+        void tick() {
+            engine.tick(input | pendingStart.getAndSet(GameInput.NONE));
+            tick++;
+
+            long start = System.nanoTime();
+            int slot = tick % HISTORY;
+            GameSnapshot current = history[slot];
+            engine.save(current);
+            historyTicks[slot] = tick;
+            byte[] currentBytes = current.startReading().array();
+            int currentLength = current.size();
+
+            int base = acknowledged;
+            byte[] baseline = null;
+            int baselineLength = 0;
+            if (base != NO_TICK && tick - base < HISTORY && historyTicks[base % HISTORY] == base) {
+                baseline = history[base % HISTORY].startReading().array();
+                baselineLength = history[base % HISTORY].size();
+            } else {
+                base = NO_TICK;
+            }
+            int needed = FRAME_PREFIX_BYTES + SnapshotDelta.maxEncodedBytes(currentLength);
+            byte[] frame = spareFrames.poll();
+            if (frame == null || frame.length < needed) {
+                frame = new byte[needed];
+            }
+            int length = SnapshotDelta.encode(baseline, baselineLength, currentBytes, currentLength,
+                    frame, FRAME_PREFIX_BYTES);
+            putInt(frame, 0, FRAME_HEADER_BYTES + length);
+            putInt(frame, Integer.BYTES, tick);
+            putInt(frame, 2 * Integer.BYTES, base);
+            encodeNanos.add(System.nanoTime() - start);
+            snapshotBytes.add(currentLength);
+            while (!outbox.offer(frame)) {
+                byte[] dropped = outbox.poll();
+                if (dropped != null) {
+                    framesDropped.increment();
+                    spareFrames.offer(dropped);
+                }
+            }
+        }
+
+        /**
+         * Method that disconnects the client and stops the writer.
+         */
+        void close() {
+            isClosed = true;
+            writer.interrupt();
+            try {
+                socket.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Method that writes a big-endian int into a frame.
+     */
+    private static void putInt(byte[] bytes, int position, int value) {
+        bytes[position] = (byte) (value >>> 24);
+        bytes[position + 1] = (byte) (value >>> 16);
+        bytes[position + 2] = (byte) (value >>> 8);
+        bytes[position + 3] = (byte) value;
+    }
+
+    /**
+     * Method that reads a big-endian int written by putInt.
+     */
+    private static int getInt(byte[] bytes, int position) {
+        return (bytes[position] & 0xFF) << 24 | (bytes[position + 1] & 0xFF) << 16
+                | (bytes[position + 2] & 0xFF) << 8 | (bytes[position + 3] & 0xFF);
+    }
+}
@@ -0,0 +1,82 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The GameSnapshot class holds the state of a running game in a compact binary form,
+ * written by GameEngine.save and read back by GameEngine.restore.
+ * Only what changes during play is stored: the engine's flags, timers and random state, each moving
+ * entity's position and state, and the items eaten so far as a delta against the level as loaded.
+ * Walls, initial positions and everything else fixed by the level file are not stored.
+ * A snapshot keeps its buffer, so saving into the same snapshot again allocates nothing,
+ * which lets bots and search tools branch and roll back a game thousands of times per second.
+ *
+ * @author RUOXUAN XU
+ */
+public class GameSnapshot {
+    private ByteBuffer buffer;
+
+    /**
+     * Method that constructs an empty GameSnapshot to save a game into.
+     */
+    public GameSnapshot() {
+        this.buffer = ByteBuffer.allocate(0);
+    }
+
+    /**
+     * Method that constructs a GameSnapshot from bytes returned by toByteArray.
+     *
+     * @param bytes The bytes of a saved snapshot.
+     */
+    public GameSnapshot(byte[] bytes) {
+        this.buffer = ByteBuffer.wrap(bytes.clone());
+    }
+
+    /**
+     * Method that clears the snapshot for writing, growing its buffer if it is smaller than the given size.
+     *
+     * @param capacity The largest number of bytes the game can write.
+     * @return The buffer to write the game into.
+     */
+    public ByteBuffer startWriting(int capacity) {
+        if (buffer.capacity() < capacity) {
+            buffer = ByteBuffer.allocate(Math.max(capacity, buffer.capacity() * 2));
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Method that ends writing, so the snapshot holds exactly the bytes written.
+     */
+    public void finishWriting() {
+        buffer.flip();
+    }
+
+    /**
+     * Method that returns the buffer of the snapshot positioned at its first byte.
+     *
+     * @return The buffer to read the game from.
+     */
+    public ByteBuffer startReading() {
+        buffer.rewind();
+        return buffer;
+    }
+
+    /**
+     * Method that returns the size of the saved state.
+     *
+     * @return The number of bytes in the snapshot.
+     */
+    public int size() {
+        return buffer.limit();
+    }
+
+    /**
+     * Method that copies the saved state out, for storing or sending elsewhere.
+     *
+     * @return The bytes of the snapshot.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer.array(), buffer.limit());
+    }
+}
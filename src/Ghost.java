@@ -1,11 +1,12 @@
-import bagel.Image;
-import bagel.util.Point;
-import java.util.Random;
+import java.nio.ByteBuffer;
 
 /**
  * The Ghost class represents a general ghost entity in the game.
  * It extends the Entity class and implements the Movable interface.
  * Ghosts in different color have movement behavior and can change direction randomly or in a predefined pattern.
+ * In frenzy mode the same ghost switches to the frenzy sprite and a lower speed, and can be eaten by the player.
+ * When the game gives it a NavigationGrid, a moving ghost instead turns at the centre of each tile,
+ * chasing the player normally and scattering away from it in frenzy mode.
  *
  * @author RUOXUAN XU
  */
@@ -14,16 +15,25 @@ public class Ghost extends Entity implements Movable {
     protected final static int RIGHT = 1;
     protected final static int DOWN = 2;
     protected final static int LEFT = 3;
-    protected final static Random random = new Random();
     protected final static int ALL_DIRECTION = 4;
     protected final static int REVERSE_DIRECTION = 2;
+    protected final static int[] X_STEP = {0, 1, 0, -1};
+    protected final static int[] Y_STEP = {-1, 0, 1, 0};
+    private final static int NO_TILE = -1;
     private final static int STATIONARY = 0;
+    private final static Sprite GHOST_FRENZY = Sprite.load("res/ghostFrenzy.png");
+    private final static double SPEED_DECREASE = 0.5;
 
-    private Point previousPosition;
-    private Point initialPosition;
+    private final double initialX;
+    private final double initialY;
+    private double previousX;
+    private double previousY;
     private int direction;
     private double moveSize;
     private boolean moveRandomly;
+    private boolean isFrenzyMode;
+    private int decisionTile = NO_TILE;
+    private final GameRandom random;
 
     /**
      * The value of each ghost in terms of points in frenzy mode.
@@ -32,104 +42,149 @@ public class Ghost extends Entity implements Movable {
 
     /**
      * Method that constructs a Ghost object at the specified position with
-     * the given image, movement size, direction, and movement type.
+     * the given sprite, movement size, direction, and movement type.
      *
      * @param initialX The initial x-coordinate of the ghost.
      * @param initialY The initial y-coordinate of the ghost.
-     * @param image The image representing the ghost.
+     * @param sprite The sprite representing the ghost.
      * @param moveSize The speed of the ghost.
      * @param direction The initial direction of the ghost's movement.
      * @param movement Whether the ghost moves randomly or in a reverse pattern.
+     * @param random The ghost's own random generator, split from the game's generator.
      */
-    public Ghost(double initialX, double initialY, Image image, double moveSize, int direction,boolean movement) {
-        super(initialX, initialY, image);
+    public Ghost(double initialX, double initialY, Sprite sprite, double moveSize, int direction,boolean movement,
+                 GameRandom random) {
+        super(initialX, initialY, sprite);
+        this.random = random;
         this.moveSize = moveSize;
         this.direction = direction;
         this.moveRandomly = movement;
-        this.initialPosition = new Point(initialX, initialY);
+        this.initialX = initialX;
+        this.initialY = initialY;
+        this.previousX = initialX;
+        this.previousY = initialY;
     }
 
     /**
      * Method that updates the position of the ghost based on its current direction and move size.
-     * It also calls from the super class (Entity) to update the image of the ghost.
+     * With a navigation grid, a ghost reaching the centre of a new tile during this tick is lined up
+     * on the centre and leaves it in the direction the grid chooses, using the rest of its move.
+     *
+     * @param navigation The grid to chase through, or null for the ghost's own movement pattern.
      */
-    @Override
-    public void update() {
-        if (direction == UP) {
-            move(0, -moveSize);
-        } else if (direction == DOWN) {
-            move(0, moveSize);
-        } else if (direction == LEFT) {
-            move(-moveSize, 0);
-        } else if (direction == RIGHT) {
-            move(moveSize, 0);
+    public void update(NavigationGrid navigation) {
+        double speed = getMoveSize();
+        if (navigation != null && moveSize != STATIONARY) {
+            double centreX = getX() + getWidth() / 2;
+            double centreY = getY() + getHeight() / 2;
+            int tile = navigation.tileAt(centreX, centreY);
+            if (tile != NO_TILE && tile != decisionTile) {
+                double toCentreX = navigation.centreX(tile) - centreX;
+                double toCentreY = navigation.centreY(tile) - centreY;
+                double ahead = X_STEP[direction] * toCentreX + Y_STEP[direction] * toCentreY;
+                if (ahead >= 0 && ahead <= speed) {
+                    decisionTile = tile;
+                    direction = navigation.chooseDirection(tile, direction, !isFrenzyMode);
+                    double rest = speed - ahead;
+                    move(toCentreX + X_STEP[direction] * rest, toCentreY + Y_STEP[direction] * rest);
+                    return;
+                }
+            }
         }
-        super.update();
+        move(X_STEP[direction] * speed, Y_STEP[direction] * speed);
     }
 
     /**
      * Method that moves the ghost by the specified pixels in the x and y directions.
-     * It updates the previous position and sets the new position of the ghost.
+     * It records the previous coordinates and updates the position in place.
+     * A stationary ghost never leaves its initial position.
      *
      * @param xMove The pixels to move in the x-direction.
      * @param yMove The pixels to move in the y-direction.
      */
     @Override
     public void move(double xMove, double yMove) {
-        previousPosition = getPosition();
-        setPosition(new Point(getPosition().x + xMove, getPosition().y + yMove));
-    }
-
-    /**
-     * Method that moves the ghost back to its previous position when collides with walls.
-     */
-    @Override
-    public void moveBack() {
-        setPosition(previousPosition);
+        if (moveSize == STATIONARY) {
+            return;
+        }
+        previousX = getX();
+        previousY = getY();
+        setPosition(previousX + xMove, previousY + yMove);
     }
 
     /**
-     * Method that retrieves the position of the ghost.
+     * Method that retrieves the x-coordinate the ghost had before its last move.
      *
-     * @return The position of the ghost.
+     * @return The previous x-coordinate.
      */
     @Override
-    public Point getPosition() {
-        return super.getPosition();
+    public double getPreviousX() {
+        return previousX;
     }
 
     /**
-     * Method that sets the position of the ghost to the specified position.
-     * If the ghost is stationary, it sets the position to the initial position.
-     * Otherwise, it sets the position to the specified position.
+     * Method that retrieves the y-coordinate the ghost had before its last move.
      *
-     * @param position The new position of the ghost.
+     * @return The previous y-coordinate.
      */
     @Override
-    public void setPosition(Point position) {
-        if (moveSize == STATIONARY) {
-            super.setPosition(initialPosition);
-        } else {
-            super.setPosition(position);
-        }
+    public double getPreviousY() {
+        return previousY;
     }
 
     /**
      * Method that retrieves the speed of the ghost.
+     * In frenzy mode a moving ghost is slowed down by half a pixel per tick.
      *
      * @return The speed of the ghost.
      */
     @Override
     public double getMoveSize() {
+        if (isFrenzyMode && moveSize != STATIONARY) {
+            return moveSize - SPEED_DECREASE;
+        }
         return moveSize;
     }
 
     /**
      * Method that resets the position of the ghost to the initial position.
+     * A ghost reset during frenzy mode has been eaten, so it also leaves the screen until frenzy ends.
      */
     @Override
     public void resetPosition() {
-        setPosition(initialPosition);
+        if (isFrenzyMode) {
+            setActive(false);
+        }
+        decisionTile = NO_TILE;
+        previousX = initialX;
+        previousY = initialY;
+        setPosition(initialX, initialY);
+    }
+
+    /**
+     * Method that switches the ghost in or out of frenzy mode.
+     * Leaving frenzy mode brings an eaten ghost back onto the screen.
+     *
+     * @param isFrenzyMode True if the ghost is in frenzy mode, otherwise not.
+     */
+    public void setFrenzyMode(boolean isFrenzyMode) {
+        this.isFrenzyMode = isFrenzyMode;
+        if (!isFrenzyMode) {
+            setActive(true);
+        }
+    }
+
+    /**
+     * Method that retrieves the sprite of the ghost, which is the frenzy sprite during frenzy mode.
+     *
+     * @return The sprite of the ghost.
+     */
+    @Override
+    public Sprite getSprite() {
+        if (isFrenzyMode) {
+            return GHOST_FRENZY;
+        }
+        return super.getSprite();
     }
 
     /**
@@ -170,4 +225,48 @@ public class Ghost extends Entity implements Movable {
     public boolean isMoveRandomly() {
         return moveRandomly;
     }
-}
\ No newline at end of file
+
+    /**
+     * Method that returns how many bytes writeState writes for the ghost.
+     *
+     * @return The size of the ghost's state in a snapshot.
+     */
+    @Override
+    public int stateBytes() {
+        return super.stateBytes() + 2 * Double.BYTES + 2 + Integer.BYTES + Long.BYTES;
+    }
+
+    /**
+     * Method that writes the ghost's position, previous position, direction, frenzy state, the tile it last
+     * turned on and the state of its random generator to a game snapshot.
+     * The initial position, speed and movement pattern come from the level and never change.
+     *
+     * @param out The buffer of the snapshot.
+     */
+    @Override
+    public void writeState(ByteBuffer out) {
+        super.writeState(out);
+        out.putDouble(previousX);
+        out.putDouble(previousY);
+        out.put((byte) direction);
+        out.put((byte) (isFrenzyMode ? 1 : 0));
+        out.putInt(decisionTile);
+        out.putLong(random.getState());
+    }
+
+    /**
+     * Method that restores the state written by writeState, in the same order.
+     *
+     * @param in The buffer of the snapshot.
+     */
+    @Override
+    public void readState(ByteBuffer in) {
+        super.readState(in);
+        previousX = in.getDouble();
+        previousY = in.getDouble();
+        direction = in.get();
+        isFrenzyMode = in.get() != 0;
+        decisionTile = in.getInt();
+        random.setState(in.getLong());
+    }
+}
@@ -1,4 +1,3 @@
-import bagel.Image;
 
 /**
  * This class represents a blue ghost entity in the game. Extends the Ghost class.
@@ -7,7 +6,7 @@ import bagel.Image;
  * @author RUOXUAN XU
  */
 public class GhostBlue extends Ghost{
-    private final static Image GHOST_BLUE = new Image("res/ghostBlue.png");
+    private final static Sprite GHOST_BLUE = Sprite.load("res/ghostBlue.png");
     private final static int INITIAL_DIRECTION = DOWN;
     private final static int INITIAL_SPEED = 2;
 
@@ -16,8 +15,9 @@ public class GhostBlue extends Ghost{
      *
      * @param initialX The initial x-coordinate of the blue ghost.
      * @param initialY The initial y-coordinate of the blue ghost.
+     * @param random The ghost's own random generator, split from the game's generator.
      */
-    public GhostBlue(int initialX, int initialY) {
-        super(initialX, initialY, GHOST_BLUE, INITIAL_SPEED, INITIAL_DIRECTION,false);
+    public GhostBlue(int initialX, int initialY, GameRandom random) {
+        super(initialX, initialY, GHOST_BLUE, INITIAL_SPEED, INITIAL_DIRECTION,false, random);
     }
 }
@@ -1,4 +1,3 @@
-import bagel.Image;
 
 /**
  * This class represents a green ghost entity in the game. Extends the Ghost class.
@@ -7,7 +6,7 @@ import bagel.Image;
  * @author RUOXUAN XU
  */
 public class GhostGreen extends Ghost{
-    private final static Image GHOST_GREEN = new Image("res/ghostGreen.png");
+    private final static Sprite GHOST_GREEN = Sprite.load("res/ghostGreen.png");
     private final static int INITIAL_SPEED = 4;
     private final static int INDEXING= 1;
 
@@ -16,9 +15,10 @@ public class GhostGreen extends Ghost{
      *
      * @param initialX The initial x-coordinate of the green ghost.
      * @param initialY The initial y-coordinate of the green ghost.
+     * @param random The ghost's own random generator, split from the game's generator.
      */
-    public GhostGreen(int initialX, int initialY) {
+    public GhostGreen(int initialX, int initialY, GameRandom random) {
         super(initialX, initialY, GHOST_GREEN, INITIAL_SPEED,
-                random.nextInt(REVERSE_DIRECTION) + INDEXING,false);
+                random.nextInt(REVERSE_DIRECTION) + INDEXING,false, random);
     }
 }
@@ -1,4 +1,3 @@
-import bagel.Image;
 
 /**
  * This class represents a pink ghost entity in the game. Extends the Ghost class.
@@ -7,7 +6,7 @@ import bagel.Image;
  * @author RUOXUAN XU
  */
 public class GhostPink extends Ghost{
-    private final static Image GHOST_PINK = new Image("res/ghostPink.png");
+    private final static Sprite GHOST_PINK = Sprite.load("res/ghostPink.png");
     private final static int INITIAL_SPEED = 3;
 
     /**
@@ -15,8 +14,9 @@ public class GhostPink extends Ghost{
      *
      * @param initialX The initial x-coordinate of the pink ghost.
      * @param initialY The initial y-coordinate of the pink ghost.
+     * @param random The ghost's own random generator, split from the game's generator.
      */
-    public GhostPink(int initialX, int initialY) {
-        super(initialX, initialY, GHOST_PINK, INITIAL_SPEED, random.nextInt(ALL_DIRECTION),true);
+    public GhostPink(int initialX, int initialY, GameRandom random) {
+        super(initialX, initialY, GHOST_PINK, INITIAL_SPEED, random.nextInt(ALL_DIRECTION),true, random);
     }
 }
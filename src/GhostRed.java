@@ -1,4 +1,3 @@
-import bagel.Image;
 
 /**
  * This class represents a red ghost entity in the game. Extends the Ghost class.
@@ -7,7 +6,7 @@ import bagel.Image;
  * @author RUOXUAN XU
  */
 public class GhostRed extends Ghost{
-    private final static Image GHOST_RED = new Image("res/ghostRed.png");
+    private final static Sprite GHOST_RED = Sprite.load("res/ghostRed.png");
     private final static int INITIAL_SPEED = 1;
 
     /**
@@ -15,9 +14,10 @@ public class GhostRed extends Ghost{
      *
      * @param initialX The initial x-coordinate of the red ghost.
      * @param initialY The initial y-coordinate of the red ghost.
+     * @param random The ghost's own random generator, split from the game's generator.
      */
-    public GhostRed(int initialX, int initialY) {
-        super(initialX, initialY, GHOST_RED, INITIAL_SPEED, RIGHT,false);
+    public GhostRed(int initialX, int initialY, GameRandom random) {
+        super(initialX, initialY, GHOST_RED, INITIAL_SPEED, RIGHT,false, random);
     }
 
     /**
@@ -26,9 +26,10 @@ public class GhostRed extends Ghost{
      * @param initialX The initial x-coordinate of the red ghost.
      * @param initialY The initial y-coordinate of the red ghost.
      * @param moveSize The speed of the red ghost.
+     * @param random The ghost's own random generator, split from the game's generator.
      */
-    public GhostRed(int initialX, int initialY, int moveSize) {
-        super(initialX, initialY, GHOST_RED, moveSize, RIGHT,false);
+    public GhostRed(int initialX, int initialY, int moveSize, GameRandom random) {
+        super(initialX, initialY, GHOST_RED, moveSize, RIGHT,false, random);
     }
 }
 
@@ -0,0 +1,16 @@
+/**
+ * The InputPolicy interface represents a scripted or bot player that chooses the keys for each tick.
+ * Policies are used to drive headless games, so each game should own its own policy instance.
+ *
+ * @author RUOXUAN XU
+ */
+public interface InputPolicy {
+
+    /**
+     * Method that chooses the keys for the next tick from the current state of the game.
+     *
+     * @param engine The game about to be ticked.
+     * @return The keys for the tick, as GameInput flags.
+     */
+    int nextInput(GameEngine engine);
+}
@@ -0,0 +1,184 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The InputRecording class records the keys of every game tick, together with the game's seed, whether ghosts chase
+ * and whether they turn when they touch, so a session can be replayed exactly by a headless engine.
+ * Keys rarely change from one tick to the next, so they are stored run-length encoded:
+ * each run is the GameInput flags as one byte and the number of ticks as a VarInt.
+ * The file starts with a magic number, a format version, the seed, the chase flag, the ghost collision flag
+ * and the number of runs.
+ * Version 1 files, written before ghosts could chase, have no chase flag and load as not chasing.
+ * Version 2 files, written before ghosts could collide, have no ghost collision flag and load without it.
+ *
+ * @author RUOXUAN XU
+ */
+public class InputRecording {
+    private final static int MAGIC = 0x53505243;
+    private final static int VERSION = 3;
+    private final static int VERSION_WITHOUT_GHOST_COLLISION = 2;
+    private final static int VERSION_WITHOUT_CHASE = 1;
+    private final static int INITIAL_CAPACITY = 256;
+
+    private final long seed;
+    private final boolean isChase;
+    private final boolean isGhostCollision;
+    private byte[] inputs = new byte[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int runs;
+    private long ticks;
+
+    /**
+     * Method that constructs an empty recording for a game with the given seed.
+     *
+     * @param seed The seed of the recorded game.
+     * @param isChase True if the ghosts of the recorded game chase the player.
+     * @param isGhostCollision True if the ghosts of the recorded game turn when they touch.
+     */
+    public InputRecording(long seed, boolean isChase, boolean isGhostCollision) {
+        this.seed = seed;
+        this.isChase = isChase;
+        this.isGhostCollision = isGhostCollision;
+    }
+
+    /**
+     * Method that appends the keys of one tick to the recording.
+     *
+     * @param input The keys of the tick, as GameInput flags.
+     */
+    public void record(int input) {
+        ticks++;
+        if (runs > 0 && inputs[runs - 1] == (byte) input) {
+            lengths[runs - 1]++;
+            return;
+        }
+        if (runs == inputs.length) {
+            inputs = Arrays.copyOf(inputs, runs * 2);
+            lengths = Arrays.copyOf(lengths, runs * 2);
+        }
+        inputs[runs] = (byte) input;
+        lengths[runs] = 1;
+        runs++;
+    }
+
+    /**
+     * Method that feeds every recorded tick into the engine, as fast as it can run them.
+     * The engine must have been created with the recording's seed and the same levels,
+     * and must chase and collide ghosts if the recorded game did.
+     *
+     * @param engine The engine to replay the recording on.
+     */
+    public void play(GameEngine engine) {
+        for (int run = 0; run < runs; run++) {
+            int input = inputs[run];
+            for (int i = 0; i < lengths[run]; i++) {
+                engine.tick(input);
+            }
+        }
+    }
+
+    /**
+     * Method that writes the recording to a file.
+     *
+     * @param filename The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(String filename) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filename)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seed);
+            out.writeBoolean(isChase);
+            out.writeBoolean(isGhostCollision);
+            out.writeInt(runs);
+            for (int run = 0; run < runs; run++) {
+                out.writeByte(inputs[run]);
+                VarInt.write(out, lengths[run]);
+            }
+        }
+    }
+
+    /**
+     * Method that reads a recording from a file of the current or an earlier version.
+     *
+     * @param filename The file to read.
+     * @return The recording.
+     * @throws IOException If the file cannot be read or is not a recording.
+     */
+    public static InputRecording load(String filename) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filename)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(filename + " is not an input recording");
+            }
+            int version = in.readInt();
+            if (version != VERSION && version != VERSION_WITHOUT_GHOST_COLLISION && version != VERSION_WITHOUT_CHASE) {
+                throw new IOException(filename + " is an input recording of unknown version " + version);
+            }
+            long seed = in.readLong();
+            boolean isChase = version != VERSION_WITHOUT_CHASE && in.readBoolean();
+            boolean isGhostCollision = version == VERSION && in.readBoolean();
+            InputRecording recording = new InputRecording(seed, isChase, isGhostCollision);
+            int runs = in.readInt();
+            recording.inputs = new byte[Math.max(runs, 1)];
+            recording.lengths = new int[Math.max(runs, 1)];
+            for (int run = 0; run < runs; run++) {
+                recording.inputs[run] = in.readByte();
+                recording.lengths[run] = VarInt.read(in);
+                recording.ticks += recording.lengths[run];
+            }
+            recording.runs = runs;
+            return recording;
+        }
+    }
+
+    /**
+     * Method that retrieves the seed of the recorded game.
+     *
+     * @return The seed of the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Method that checks whether the ghosts of the recorded game chase the player.
+     *
+     * @return True if the ghosts chase the player, otherwise not.
+     */
+    public boolean isChase() {
+        return isChase;
+    }
+
+    /**
+     * Method that checks whether the ghosts of the recorded game turn when they touch.
+     *
+     * @return True if touching ghosts turn, otherwise not.
+     */
+    public boolean isGhostCollision() {
+        return isGhostCollision;
+    }
+
+    /**
+     * Method that retrieves the number of ticks recorded.
+     *
+     * @return The number of ticks.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Method that retrieves the number of runs of identical keys in the recording.
+     *
+     * @return The number of runs.
+     */
+    public int getRuns() {
+        return runs;
+    }
+}
@@ -0,0 +1,110 @@
+import java.util.Arrays;
+
+/**
+ * The LatencyHistogram class counts durations in logarithmic buckets to estimate percentiles cheaply.
+ * Every power of two is split into eight buckets, so a percentile is accurate to within about 12.5%,
+ * while recording a value is a few integer operations and never allocates.
+ * The largest value is kept exactly.
+ *
+ * @author RUOXUAN XU
+ */
+public class LatencyHistogram {
+    private final static int SUB_BITS = 3;
+    private final static int SUB_BUCKETS = 1 << SUB_BITS;
+    private final static int BUCKETS = (Long.SIZE - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long max;
+
+    /**
+     * Method that records one duration.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts[bucketOf(nanos)]++;
+        total++;
+        if (nanos > max) {
+            max = nanos;
+        }
+    }
+
+    /**
+     * Method that estimates the duration below which the given fraction of recorded durations fall.
+     *
+     * @param fraction The fraction, for example 0.99 for the 99th percentile.
+     * @return The estimated duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double fraction) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= target) {
+                return Math.min(lowerBoundOf(bucket + 1) - 1, max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Method that retrieves the largest duration recorded.
+     *
+     * @return The largest duration in nanoseconds.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Method that retrieves how many durations were recorded.
+     *
+     * @return The number of durations.
+     */
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * Method that forgets every recorded duration.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Method that finds the bucket of a duration.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    /**
+     * Method that returns the smallest duration that falls in a bucket.
+     */
+    private static long lowerBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        if (bucket >= BUCKETS) {
+            return Long.MAX_VALUE;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        int mantissa = bucket % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + mantissa) << (exponent - SUB_BITS);
+    }
+}
@@ -0,0 +1,85 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+
+/**
+ * The LevelCompiler class converts CSV levels into the binary level format described by LevelFormat.
+ * Each CSV file given on the command line is written next to itself with the binary suffix,
+ * for example res/level0.csv becomes res/level0.bin. Rows that are not entities are skipped,
+ * as they are when the CSV is read directly.
+ *
+ * @author RUOXUAN XU
+ */
+public class LevelCompiler {
+
+    /**
+     * This is the main method for compiling CSV levels.
+     *
+     * @param args The paths of the CSV levels to compile.
+     */
+    public static void main(String[] args) {
+        for (String csvFile : args) {
+            String binaryFile = binaryFileOf(csvFile);
+            try {
+                int count = compile(csvFile, binaryFile);
+                System.out.println(csvFile + " -> " + binaryFile + " (" + count + " entities)");
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.exit(-1);
+            }
+        }
+    }
+
+    /**
+     * Method that returns the binary file a CSV level is compiled to.
+     *
+     * @param csvFile The path of the CSV level.
+     * @return The path of the binary level.
+     */
+    public static String binaryFileOf(String csvFile) {
+        if (csvFile.endsWith(LevelFormat.CSV_SUFFIX)) {
+            csvFile = csvFile.substring(0, csvFile.length() - LevelFormat.CSV_SUFFIX.length());
+        }
+        return csvFile + LevelFormat.BINARY_SUFFIX;
+    }
+
+    /**
+     * Method that compiles one CSV level into a binary level.
+     *
+     * @param csvFile The path of the CSV level to read.
+     * @param binaryFile The path of the binary level to write.
+     * @return The number of entities written.
+     * @throws IOException If either file cannot be read or written.
+     */
+    public static int compile(String csvFile, String binaryFile) throws IOException {
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        DataOutputStream entryOut = new DataOutputStream(entries);
+        int count = 0;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(csvFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] sections = line.split(",");
+                int tag = LevelFormat.tagOf(sections[0]);
+                if (tag >= 0) {
+                    entryOut.writeByte(tag);
+                    entryOut.writeInt(Integer.parseInt(sections[1]));
+                    entryOut.writeInt(Integer.parseInt(sections[2]));
+                    count++;
+                }
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(binaryFile)))) {
+            out.writeInt(LevelFormat.MAGIC);
+            out.writeInt(LevelFormat.VERSION);
+            out.writeInt(count);
+            entries.writeTo(out);
+        }
+        return count;
+    }
+}
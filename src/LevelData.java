@@ -0,0 +1,241 @@
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * The LevelData class holds everything built from one level file: the walls, eatable entities,
+ * ghosts, player and pellet, and the WallGrid and NavigationGrid compiled from the walls.
+ * Loading a level only touches the new LevelData and the random generator it is given,
+ * so the next level can be loaded on a background thread while the current one is still running,
+ * and handed to the engine in one piece once it is complete.
+ *
+ * @author RUOXUAN XU
+ */
+public class LevelData {
+    private final GameRandom random;
+    private final ArrayList<Wall> walls = new ArrayList<>();
+    private final EatableStore eatableEntities = new EatableStore();
+    private final ArrayList<Ghost> ghosts = new ArrayList<>();
+    private Player player;
+    private Pellet pellet;
+    private WallGrid wallGrid;
+    private NavigationGrid navigation;
+
+    /**
+     * Method that constructs an empty LevelData whose ghosts split their generators from the given one.
+     */
+    private LevelData(GameRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Method that loads a level file.
+     * The generator is drawn from once per ghost, in file order, so it must not be used
+     * by anything else until loading has finished.
+     *
+     * @param filename The CSV or binary file of the level.
+     * @param random The game's random generator, from which every ghost's generator is split.
+     * @return The loaded level.
+     * @throws UncheckedIOException If the file cannot be read or is not a level.
+     */
+    public static LevelData load(String filename, GameRandom random) {
+        LevelData data = new LevelData(random);
+        data.read(filename);
+        return data;
+    }
+
+    /**
+     * Method used to read a level file and create objects for specific entity.
+     * Binary levels produced by LevelCompiler are memory-mapped; any other file is read as CSV.
+     * Entities with varying quantities are stored in an ArrayList,
+     * except dots and cherries, which are copied into an EatableStore.
+     * Once all walls are read, they are bucketed into a WallGrid for collision lookups
+     * and compiled into a NavigationGrid for chasing ghosts.
+     *
+     * The error of a file that cannot be read is thrown rather than ending the program, as levels are also
+     * loaded on background threads and by servers running many games.
+     *
+     * @param filename The name of the level file to be read to start the particular game level.
+     * @throws UncheckedIOException If the file cannot be read or is not a level.
+     */
+    private void read(String filename) {
+        try {
+            if (filename.endsWith(LevelFormat.BINARY_SUFFIX)) {
+                readBinary(filename);
+            } else {
+                readCSV(filename);
+            }
+        } catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        wallGrid = new WallGrid(walls);
+        navigation = new NavigationGrid(walls);
+    }
+
+    /**
+     * Method used to read csv file and create objects for specific entity.
+     *
+     * @param filename The name of the CSV file to be read.
+     * @throws IOException If the file cannot be read.
+     */
+    private void readCSV(String filename) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename))){
+
+            String line;
+
+            while((line = reader.readLine()) != null){
+                String[] sections = line.split(",");
+                int tag = LevelFormat.tagOf(sections[0]);
+                if (tag >= 0) {
+                    addEntity(tag, Integer.parseInt(sections[1]), Integer.parseInt(sections[2]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Method used to read a binary level through a memory-mapped buffer, without any string parsing.
+     * The entity count in the header is checked against the size of the file before any entity is read.
+     *
+     * @param filename The name of the binary level file to be read.
+     * @throws IOException If the file cannot be read, is not a binary level or is cut short.
+     */
+    private void readBinary(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < LevelFormat.HEADER_BYTES || buffer.getInt() != LevelFormat.MAGIC
+                    || buffer.getInt() != LevelFormat.VERSION) {
+                throw new IOException(filename + " is not a binary level of version " + LevelFormat.VERSION);
+            }
+            int count = buffer.getInt();
+            if (count < 0 || (long) count * LevelFormat.ENTRY_BYTES > buffer.remaining()) {
+                throw new IOException(filename + " is cut short: its header lists " + count + " entities, but only "
+                        + buffer.remaining() / LevelFormat.ENTRY_BYTES + " follow");
+            }
+            for (int i = 0; i < count; i++) {
+                int tag = buffer.get();
+                addEntity(tag, buffer.getInt(), buffer.getInt());
+            }
+        }
+    }
+
+    /**
+     * Method that creates the entity for a type tag read from a level file.
+     *
+     * @param tag The type tag of the entity, as defined in LevelFormat.
+     * @param x The x-coordinate of the entity.
+     * @param y The y-coordinate of the entity.
+     */
+    private void addEntity(int tag, int x, int y) {
+        switch (tag) {
+            case LevelFormat.PLAYER:
+                player = new Player(x, y);
+                break;
+            case LevelFormat.GHOST:
+                ghosts.add(new GhostRed(x, y, 0, random.split()));
+                break;
+            case LevelFormat.GHOST_RED:
+                ghosts.add(new GhostRed(x, y, random.split()));
+                break;
+            case LevelFormat.GHOST_BLUE:
+                ghosts.add(new GhostBlue(x, y, random.split()));
+                break;
+            case LevelFormat.GHOST_GREEN:
+                ghosts.add(new GhostGreen(x, y, random.split()));
+                break;
+            case LevelFormat.GHOST_PINK:
+                ghosts.add(new GhostPink(x, y, random.split()));
+                break;
+            case LevelFormat.DOT:
+                eatableEntities.add(new Dot(x, y));
+                break;
+            case LevelFormat.WALL:
+                walls.add(new Wall(x, y));
+                break;
+            case LevelFormat.CHERRY:
+                eatableEntities.add(new Cherry(x, y));
+                break;
+            case LevelFormat.PELLET:
+                pellet = new Pellet(x, y);
+                break;
+        }
+    }
+
+    /**
+     * Method that retrieves the generator the level was loaded with, after one draw per ghost.
+     *
+     * @return The random generator given to load.
+     */
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Method that retrieves the walls of the level.
+     *
+     * @return The walls of the level.
+     */
+    public ArrayList<Wall> getWalls() {
+        return walls;
+    }
+
+    /**
+     * Method that retrieves the dots and cherries of the level.
+     *
+     * @return The store of eatable entities of the level.
+     */
+    public EatableStore getEatableEntities() {
+        return eatableEntities;
+    }
+
+    /**
+     * Method that retrieves the ghosts of the level.
+     *
+     * @return The ghosts of the level.
+     */
+    public ArrayList<Ghost> getGhosts() {
+        return ghosts;
+    }
+
+    /**
+     * Method that retrieves the player of the level.
+     *
+     * @return The player of the level.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Method that retrieves the pellet of the level.
+     *
+     * @return The pellet, or null if the level has none.
+     */
+    public Pellet getPellet() {
+        return pellet;
+    }
+
+    /**
+     * Method that retrieves the spatial index of the level's walls.
+     *
+     * @return The wall grid of the level.
+     */
+    public WallGrid getWallGrid() {
+        return wallGrid;
+    }
+
+    /**
+     * Method that retrieves the navigation grid compiled from the level's walls.
+     *
+     * @return The navigation grid of the level.
+     */
+    public NavigationGrid getNavigation() {
+        return navigation;
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * The LevelFormat class defines the compact binary level format and the entity type tags it uses.
+ * A binary level starts with a header of a magic number, a format version and the number of entities,
+ * followed by one fixed-size entry per entity: a one-byte type tag and the x and y coordinates as ints.
+ * The same tags are used when reading CSV levels, so both formats create entities in the same way.
+ *
+ * @author RUOXUAN XU
+ */
+public final class LevelFormat {
+    /**
+     * The magic number at the start of every binary level, the ASCII characters "SPLV".
+     */
+    public final static int MAGIC = 0x53504C56;
+
+    /**
+     * The version of the binary level format.
+     */
+    public final static int VERSION = 1;
+
+    /**
+     * The size of the header in bytes: magic number, version and entity count.
+     */
+    public final static int HEADER_BYTES = 3 * Integer.BYTES;
+
+    /**
+     * The size of one entity entry in bytes: type tag, x and y.
+     */
+    public final static int ENTRY_BYTES = Byte.BYTES + 2 * Integer.BYTES;
+
+    /**
+     * The file suffix of binary levels.
+     */
+    public final static String BINARY_SUFFIX = ".bin";
+
+    /**
+     * The file suffix of CSV levels.
+     */
+    public final static String CSV_SUFFIX = ".csv";
+
+    /**
+     * The type tag of the player.
+     */
+    public final static int PLAYER = 0;
+
+    /**
+     * The type tag of a stationary ghost.
+     */
+    public final static int GHOST = 1;
+
+    /**
+     * The type tag of a red ghost.
+     */
+    public final static int GHOST_RED = 2;
+
+    /**
+     * The type tag of a blue ghost.
+     */
+    public final static int GHOST_BLUE = 3;
+
+    /**
+     * The type tag of a green ghost.
+     */
+    public final static int GHOST_GREEN = 4;
+
+    /**
+     * The type tag of a pink ghost.
+     */
+    public final static int GHOST_PINK = 5;
+
+    /**
+     * The type tag of a dot.
+     */
+    public final static int DOT = 6;
+
+    /**
+     * The type tag of a wall.
+     */
+    public final static int WALL = 7;
+
+    /**
+     * The type tag of a cherry.
+     */
+    public final static int CHERRY = 8;
+
+    /**
+     * The type tag of the pellet.
+     */
+    public final static int PELLET = 9;
+
+    private final static String[] NAMES = {"Player", "Ghost", "GhostRed", "GhostBlue", "GhostGreen",
+            "GhostPink", "Dot", "Wall", "Cherry", "Pellet"};
+
+    private LevelFormat() {
+    }
+
+    /**
+     * Method that returns the type tag of an entity name used in CSV levels.
+     *
+     * @param name The entity name in the first column of a CSV row.
+     * @return The type tag, or -1 if the name is not an entity.
+     */
+    public static int tagOf(String name) {
+        for (int tag = 0; tag < NAMES.length; tag++) {
+            if (NAMES[tag].equals(name)) {
+                return tag;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Method that returns the entity name used in CSV levels for a type tag.
+     *
+     * @param tag The type tag.
+     * @return The entity name.
+     */
+    public static String nameOf(int tag) {
+        return NAMES[tag];
+    }
+}
@@ -0,0 +1,124 @@
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LoopbackHarness class load-tests a GameServer and several bot clients on one machine over loopback TCP.
+ * Each client plays a RandomWalkPolicy bot on its mirror, at the game's tick rate, for a fixed time.
+ * The server is then stopped, and once every client has received its last update the mirrors are
+ * compared with the server's games, so the delta encoding is checked as well as measured.
+ *
+ * @author RUOXUAN XU
+ */
+public class LoopbackHarness {
+    private final static String HOST = "localhost";
+    private final static int DEFAULT_CLIENTS = 8;
+    private final static int DEFAULT_SECONDS = 10;
+    private final static int TICKS_PER_SECOND = 60;
+    private final static long NANOS_PER_TICK = 1_000_000_000L / TICKS_PER_SECOND;
+    private final static long WAIT_MILLIS = 5000;
+    private final static long POLL_MILLIS = 10;
+    private final static String CHASE_OPTION = "--chase";
+
+    /**
+     * This is the main method for running the loopback load test.
+     *
+     * @param args Optionally the number of clients, the number of seconds to play, and --chase.
+     */
+    public static void main(String[] args) {
+        int clientCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CLIENTS;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+        boolean chase = args.length > 2 && args[2].equals(CHASE_OPTION);
+        try {
+            run(clientCount, seconds, chase);
+        } catch (IOException | InterruptedException e) {
+            e.printStackTrace();
+            System.exit(-1);
+        }
+    }
+
+    /**
+     * Method that runs the server and clients, then prints the traffic and whether every mirror matches.
+     * The server numbers sessions from 0 in the order clients connect, and each client connects once the
+     * previous one has been accepted, so client i plays session i. A session the server dropped is reported,
+     * and counts as a mirror that does not match.
+     *
+     * @param clientCount The number of clients.
+     * @param seconds How long the clients play.
+     * @param chase True if the ghosts chase the players.
+     * @return The number of clients whose mirror matches the server's game.
+     * @throws IOException If the server or a client cannot be started.
+     * @throws InterruptedException If the harness is interrupted while waiting.
+     */
+    public static int run(int clientCount, int seconds, boolean chase) throws IOException, InterruptedException {
+        GameServer server = new GameServer(0, chase);
+        server.start();
+        GameClient[] clients = new GameClient[clientCount];
+        RandomWalkPolicy[] policies = new RandomWalkPolicy[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            clients[i] = new GameClient(HOST, server.getPort(), new GameEngine());
+            policies[i] = new RandomWalkPolicy(i);
+            waitFor(server, i + 1);
+        }
+
+        ScheduledExecutorService driver = Executors.newSingleThreadScheduledExecutor();
+        driver.scheduleAtFixedRate(() -> {
+            for (int i = 0; i < clientCount; i++) {
+                clients[i].update();
+                clients[i].sendInput(policies[i].nextInput(clients[i].getMirror()));
+            }
+        }, 0, NANOS_PER_TICK, TimeUnit.NANOSECONDS);
+        Thread.sleep(seconds * 1000L);
+        driver.shutdown();
+        driver.awaitTermination(1, TimeUnit.SECONDS);
+        server.stopTicking();
+
+        int[] sessionIds = server.getSessionIds();
+        int matching = 0;
+        long bytes = 0;
+        long ticks = 0;
+        GameSnapshot expected = new GameSnapshot();
+        GameSnapshot actual = new GameSnapshot();
+        for (int i = 0; i < clientCount; i++) {
+            if (Arrays.binarySearch(sessionIds, i) < 0) {
+                System.out.printf("the session of client %d was dropped by the server%n", i);
+                continue;
+            }
+            int tick = server.getTick(i);
+            long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+            while (clients[i].getLatestTick() != tick && System.currentTimeMillis() < deadline) {
+                Thread.sleep(POLL_MILLIS);
+            }
+            clients[i].update();
+            server.getEngine(i).save(expected);
+            clients[i].getMirror().save(actual);
+            if (Arrays.equals(expected.toByteArray(), actual.toByteArray())) {
+                matching++;
+            }
+            bytes += clients[i].getBytesReceived();
+            ticks += tick;
+        }
+        for (GameClient client : clients) {
+            client.close();
+        }
+        server.close();
+
+        System.out.printf("%d clients, %d ticks each, %d mirrors match the server%n",
+                clientCount, ticks / Math.max(clientCount, 1), matching);
+        System.out.printf("%.2f KB/s per client; %s%n",
+                bytes / 1024.0 / seconds / Math.max(clientCount, 1), server.getReport());
+        return matching;
+    }
+
+    /**
+     * Method that waits until the server has accepted the given number of sessions.
+     */
+    private static void waitFor(GameServer server, int sessions) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (server.getSessionCount() < sessions && System.currentTimeMillis() < deadline) {
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+}
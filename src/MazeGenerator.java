@@ -0,0 +1,297 @@
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.SplittableRandom;
+
+/**
+ * The MazeGenerator class writes large random mazes as CSV levels, for stress testing.
+ * The maze is carved on a grid of cells by a randomised depth-first search, which makes a perfect maze,
+ * and some dead ends are then knocked through so the maze has loops like the shipped levels.
+ * Every blocked tile is a wall, and the open tiles hold the player, the ghosts, a pellet, and dots
+ * and cherries at the chosen density. The same settings and seed always write the same level.
+ * It also defines a fixed suite of stress levels of about ten thousand, a hundred thousand
+ * and a million entities, which the benchmarks and the batch runner can play by name.
+ *
+ * @author RUOXUAN XU
+ */
+public class MazeGenerator {
+    private final static int TILE_SIZE = 50;
+    private final static int ITEM_OFFSET = 12;
+    private final static int CHERRY_EVERY = 10;
+    private final static double BRAID_CHANCE = 0.5;
+    private final static int[] COLUMN_STEP = {0, 1, 0, -1};
+    private final static int[] ROW_STEP = {-1, 0, 1, 0};
+    private final static String[] GHOST_NAMES = {"GhostRed", "GhostBlue", "GhostGreen", "GhostPink"};
+    private final static String SUITE_OPTION = "--suite";
+
+    /**
+     * The names of the stress levels, from smallest to largest.
+     */
+    public final static String[] STRESS_LEVELS = {"stress-10k", "stress-100k", "stress-1m"};
+
+    private final static int[] STRESS_CELLS = {50, 158, 500};
+    private final static int[] STRESS_GHOSTS = {64, 256, 1024};
+    private final static double STRESS_DENSITY = 1.0;
+    private final static long STRESS_SEED = 2023;
+
+    private final int cellColumns;
+    private final int cellRows;
+    private final double density;
+    private final int ghostCount;
+    private final long seed;
+
+    /**
+     * Method that constructs a MazeGenerator.
+     *
+     * @param cellColumns The number of maze cells across; the level is twice as many tiles wide, plus one.
+     * @param cellRows The number of maze cells down; the level is twice as many tiles high, plus one.
+     * @param density The share of free open tiles that hold a dot or cherry, from 0 to 1.
+     * @param ghostCount The number of ghosts.
+     * @param seed The seed of the maze and of where the ghosts are placed.
+     */
+    public MazeGenerator(int cellColumns, int cellRows, double density, int ghostCount, long seed) {
+        this.cellColumns = cellColumns;
+        this.cellRows = cellRows;
+        this.density = density;
+        this.ghostCount = ghostCount;
+        this.seed = seed;
+    }
+
+    /**
+     * This is the main method for generating levels.
+     * With --suite DIRECTORY, it writes every stress level into the directory, in CSV and binary form.
+     * Otherwise it takes the cell columns, cell rows, density, ghost count, seed and output CSV file.
+     *
+     * @param args The settings of the level to write, or --suite and a directory.
+     */
+    public static void main(String[] args) {
+        try {
+            if (args.length == 2 && args[0].equals(SUITE_OPTION)) {
+                for (String name : STRESS_LEVELS) {
+                    String csvFile = args[1] + "/" + name + LevelFormat.CSV_SUFFIX;
+                    int count = stressGenerator(name).write(csvFile);
+                    LevelCompiler.compile(csvFile, LevelCompiler.binaryFileOf(csvFile));
+                    System.out.println(csvFile + " (" + count + " entities)");
+                }
+            } else if (args.length == 6) {
+                MazeGenerator generator = new MazeGenerator(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+                        Double.parseDouble(args[2]), Integer.parseInt(args[3]), Long.parseLong(args[4]));
+                int count = generator.write(args[5]);
+                System.out.println(args[5] + " (" + count + " entities)");
+            } else {
+                System.out.println("usage: MazeGenerator COLUMNS ROWS DENSITY GHOSTS SEED FILE"
+                        + " | MazeGenerator --suite DIRECTORY");
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(-1);
+        }
+    }
+
+    /**
+     * Method that returns the generator of a stress level.
+     *
+     * @param name The name of a stress level, one of STRESS_LEVELS.
+     * @return The generator that writes the level.
+     */
+    public static MazeGenerator stressGenerator(String name) {
+        for (int i = 0; i < STRESS_LEVELS.length; i++) {
+            if (STRESS_LEVELS[i].equals(name)) {
+                return new MazeGenerator(STRESS_CELLS[i], STRESS_CELLS[i], STRESS_DENSITY, STRESS_GHOSTS[i],
+                        STRESS_SEED);
+            }
+        }
+        throw new IllegalArgumentException("no stress level named " + name);
+    }
+
+    /**
+     * Method that writes a stress level to a temporary binary file, which is deleted when the JVM exits.
+     *
+     * @param name The name of a stress level, one of STRESS_LEVELS.
+     * @return The path of the binary level.
+     * @throws IOException If the level cannot be written.
+     */
+    public static String writeStressLevel(String name) throws IOException {
+        File csvFile = File.createTempFile(name, LevelFormat.CSV_SUFFIX);
+        csvFile.deleteOnExit();
+        stressGenerator(name).write(csvFile.getPath());
+        String binaryFile = LevelCompiler.binaryFileOf(csvFile.getPath());
+        LevelCompiler.compile(csvFile.getPath(), binaryFile);
+        new File(binaryFile).deleteOnExit();
+        return binaryFile;
+    }
+
+    /**
+     * Method that generates the maze and writes it as a CSV level.
+     * The player takes the first open tile and the pellet the last; the ghosts go on distinct tiles in between.
+     *
+     * @param filename The path of the CSV file to write.
+     * @return The number of entities written.
+     * @throws IOException If the file cannot be written.
+     */
+    public int write(String filename) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        int columns = cellColumns * 2 + 1;
+        int rows = cellRows * 2 + 1;
+        boolean[] open = carve(columns, rows, random);
+
+        int openCount = 0;
+        for (boolean tile : open) {
+            if (tile) {
+                openCount++;
+            }
+        }
+        int[] openTiles = new int[openCount];
+        for (int tile = 0, i = 0; tile < open.length; tile++) {
+            if (open[tile]) {
+                openTiles[i++] = tile;
+            }
+        }
+        byte[] occupant = new byte[open.length];
+        int placed = 0;
+        for (int attempts = 0; placed < Math.min(ghostCount, openCount - 2) && attempts < openCount * 4; attempts++) {
+            int tile = openTiles[1 + random.nextInt(openCount - 2)];
+            if (occupant[tile] == 0) {
+                occupant[tile] = 1;
+                placed++;
+            }
+        }
+
+        int count = 0;
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(filename)))) {
+            writer.println("Player," + itemX(openTiles[0], columns) + "," + itemY(openTiles[0], columns));
+            count++;
+            int ghosts = 0;
+            int eatables = 0;
+            for (int tile = 0; tile < open.length; tile++) {
+                if (!open[tile]) {
+                    writer.println("Wall," + (tile % columns) * TILE_SIZE + "," + (tile / columns) * TILE_SIZE);
+                } else if (occupant[tile] != 0) {
+                    writer.println(GHOST_NAMES[ghosts++ % GHOST_NAMES.length] + ","
+                            + itemX(tile, columns) + "," + itemY(tile, columns));
+                } else if (tile == openTiles[openCount - 1]) {
+                    writer.println("Pellet," + itemX(tile, columns) + "," + itemY(tile, columns));
+                } else if (tile != openTiles[0] && random.nextDouble() < density) {
+                    writer.println((++eatables % CHERRY_EVERY == 0 ? "Cherry," : "Dot,")
+                            + itemX(tile, columns) + "," + itemY(tile, columns));
+                } else {
+                    continue;
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Method that carves a maze into a grid of tiles and returns which tiles are open.
+     * Cells sit on the odd rows and columns; the search opens the tile between two cells
+     * whenever it moves from one to the other, using an explicit stack so huge mazes cannot
+     * overflow the call stack.
+     */
+    private boolean[] carve(int columns, int rows, SplittableRandom random) {
+        boolean[] open = new boolean[columns * rows];
+        int[] stack = new int[cellColumns * cellRows];
+        int[] directions = {0, 1, 2, 3};
+        int size = 0;
+        int first = columns + 1;
+        open[first] = true;
+        stack[size++] = first;
+
+        while (size > 0) {
+            int tile = stack[size - 1];
+            shuffle(directions, random);
+            int next = -1;
+            for (int direction : directions) {
+                int candidate = cellNeighbour(tile, direction, columns, rows);
+                if (candidate >= 0 && !open[candidate]) {
+                    open[(tile + candidate) / 2] = true;
+                    next = candidate;
+                    break;
+                }
+            }
+            if (next < 0) {
+                size--;
+            } else {
+                open[next] = true;
+                stack[size++] = next;
+            }
+        }
+
+        for (int tile = 0; tile < open.length; tile++) {
+            if (open[tile] && isCell(tile, columns) && openSides(open, tile, columns) == 1
+                    && random.nextDouble() < BRAID_CHANCE) {
+                shuffle(directions, random);
+                for (int direction : directions) {
+                    int candidate = cellNeighbour(tile, direction, columns, rows);
+                    int between = candidate < 0 ? -1 : (tile + candidate) / 2;
+                    if (candidate >= 0 && !open[between]) {
+                        open[between] = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Method that returns the cell two tiles away in a direction, or -1 if it is outside the maze.
+     */
+    private static int cellNeighbour(int tile, int direction, int columns, int rows) {
+        int column = tile % columns + 2 * COLUMN_STEP[direction];
+        int row = tile / columns + 2 * ROW_STEP[direction];
+        if (column < 1 || row < 1 || column >= columns - 1 || row >= rows - 1) {
+            return -1;
+        }
+        return row * columns + column;
+    }
+
+    /**
+     * Method that checks whether a tile is a maze cell, on an odd row and column.
+     */
+    private static boolean isCell(int tile, int columns) {
+        return (tile % columns) % 2 == 1 && (tile / columns) % 2 == 1;
+    }
+
+    /**
+     * Method that counts the open tiles beside a cell.
+     */
+    private static int openSides(boolean[] open, int tile, int columns) {
+        int sides = 0;
+        for (int direction = 0; direction < COLUMN_STEP.length; direction++) {
+            if (open[tile + ROW_STEP[direction] * columns + COLUMN_STEP[direction]]) {
+                sides++;
+            }
+        }
+        return sides;
+    }
+
+    /**
+     * Method that shuffles the directions in place.
+     */
+    private static void shuffle(int[] directions, SplittableRandom random) {
+        for (int i = directions.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = directions[i];
+            directions[i] = directions[j];
+            directions[j] = swap;
+        }
+    }
+
+    /**
+     * Method that returns the x-coordinate an item is placed at on a tile.
+     */
+    private static int itemX(int tile, int columns) {
+        return (tile % columns) * TILE_SIZE + ITEM_OFFSET;
+    }
+
+    /**
+     * Method that returns the y-coordinate an item is placed at on a tile.
+     */
+    private static int itemY(int tile, int columns) {
+        return (tile / columns) * TILE_SIZE + ITEM_OFFSET;
+    }
+}
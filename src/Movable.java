@@ -2,13 +2,16 @@
  * The Movable interface represents an entity that can be moved within the game.
  * Player class and Ghost class implement the Movable interface.
  * Implementing classes need provide functionality for movement features.
+ * Moves update the entity's coordinates in place and keep the previous coordinates as plain doubles,
+ * so moving creates no objects.
  *
  * @author RUOXUAN XU
  */
 public interface Movable {
 
     /**
-     * Method that moves the movable entity by the specified pixels in the x and y directions.
+     * Method that moves the movable entity by the specified pixels in the x and y directions,
+     * remembering the coordinates it moved from.
      *
      * @param xMove The pixels to move in the x-direction.
      * @param yMove The pixels to move in the y-direction.
@@ -16,9 +19,18 @@ public interface Movable {
     void move(double xMove, double yMove);
 
     /**
-     * Method that moves the movable entity back to its previous position when collides with walls.
+     * Method that retrieves the x-coordinate the movable entity had before its last move.
+     *
+     * @return The previous x-coordinate.
+     */
+    double getPreviousX();
+
+    /**
+     * Method that retrieves the y-coordinate the movable entity had before its last move.
+     *
+     * @return The previous y-coordinate.
      */
-    void moveBack();
+    double getPreviousY();
 
     /**
      * Method that resets the position of the movable entity to the initial position.
@@ -0,0 +1,197 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The NavigationGrid class compiles the walls of a level into a grid of tiles that ghosts can chase through.
+ * Walls sit on a regular lattice, so each wall blocks exactly one tile and every other tile inside the maze
+ * is open. A breadth-first search from the tiles the player overlaps stores every open tile's distance to
+ * the player, and a ghost picks its next direction by looking at the distances of its four neighbours.
+ * The distance field is only rebuilt when the player's tile changes, so any number of ghosts can chase
+ * for the cost of one search every few ticks.
+ *
+ * @author RUOXUAN XU
+ */
+public class NavigationGrid {
+    private final static int UNREACHABLE = Integer.MAX_VALUE;
+    private final static int NO_TILE = -1;
+    private final static int[] PREFERENCE = {Ghost.UP, Ghost.LEFT, Ghost.DOWN, Ghost.RIGHT};
+
+    private final double originX;
+    private final double originY;
+    private final double tileSize;
+    private final int columns;
+    private final int rows;
+    private final boolean[] blocked;
+    private final int[] distances;
+    private final int[] queue;
+    private int playerFirstTile = NO_TILE;
+    private int playerLastTile = NO_TILE;
+
+    /**
+     * Method that constructs a NavigationGrid from the walls of a level.
+     * The tiles are as large as the biggest wall and start at the top-left wall,
+     * and everything outside the walls' extent is treated as blocked.
+     *
+     * @param walls The walls of the level, which never move after loading.
+     */
+    public NavigationGrid(ArrayList<Wall> walls) {
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        double largest = 1;
+        for (Wall wall : walls) {
+            minX = Math.min(minX, wall.getX());
+            minY = Math.min(minY, wall.getY());
+            maxX = Math.max(maxX, wall.getX());
+            maxY = Math.max(maxY, wall.getY());
+            largest = Math.max(largest, Math.max(wall.getWidth(), wall.getHeight()));
+        }
+        if (walls.isEmpty()) {
+            minX = minY = maxX = maxY = 0;
+        }
+
+        this.originX = minX;
+        this.originY = minY;
+        this.tileSize = largest;
+        this.columns = (int) ((maxX - minX) / tileSize) + 1;
+        this.rows = (int) ((maxY - minY) / tileSize) + 1;
+        this.blocked = new boolean[columns * rows];
+        this.distances = new int[columns * rows];
+        this.queue = new int[columns * rows];
+        for (Wall wall : walls) {
+            blocked[tileAt(wall.getX() + wall.getWidth() / 2, wall.getY() + wall.getHeight() / 2)] = true;
+        }
+        Arrays.fill(distances, UNREACHABLE);
+    }
+
+    /**
+     * Method that rebuilds the distance field if the player has moved onto different tiles since the last call.
+     * Every tile the player's bounding box overlaps is a source of the search, so ghosts head for
+     * the player even while it is between two tiles.
+     *
+     * @param player The player the ghosts chase.
+     */
+    public void update(Player player) {
+        int firstTile = tileAt(player.getX(), player.getY());
+        int lastTile = tileAt(player.getX() + player.getWidth(), player.getY() + player.getHeight());
+        if (firstTile == playerFirstTile && lastTile == playerLastTile) {
+            return;
+        }
+        playerFirstTile = firstTile;
+        playerLastTile = lastTile;
+
+        Arrays.fill(distances, UNREACHABLE);
+        int head = 0;
+        int tail = 0;
+        if (firstTile != NO_TILE && lastTile != NO_TILE) {
+            for (int row = firstTile / columns; row <= lastTile / columns; row++) {
+                for (int column = firstTile % columns; column <= lastTile % columns; column++) {
+                    int tile = row * columns + column;
+                    if (!blocked[tile]) {
+                        distances[tile] = 0;
+                        queue[tail++] = tile;
+                    }
+                }
+            }
+        }
+        while (head < tail) {
+            int tile = queue[head++];
+            int column = tile % columns;
+            int row = tile / columns;
+            for (int direction = 0; direction < Ghost.ALL_DIRECTION; direction++) {
+                int next = neighbour(column, row, direction);
+                if (next != NO_TILE && distances[next] == UNREACHABLE) {
+                    distances[next] = distances[tile] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method that returns the tile containing the given point.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @return The index of the tile, or -1 if the point is outside the grid.
+     */
+    public int tileAt(double x, double y) {
+        int column = (int) Math.floor((x - originX) / tileSize);
+        int row = (int) Math.floor((y - originY) / tileSize);
+        if (column < 0 || row < 0 || column >= columns || row >= rows) {
+            return NO_TILE;
+        }
+        return row * columns + column;
+    }
+
+    /**
+     * Method that returns the x-coordinate of the centre of a tile.
+     *
+     * @param tile The index of the tile.
+     * @return The x-coordinate of the tile's centre.
+     */
+    public double centreX(int tile) {
+        return originX + (tile % columns + 0.5) * tileSize;
+    }
+
+    /**
+     * Method that returns the y-coordinate of the centre of a tile.
+     *
+     * @param tile The index of the tile.
+     * @return The y-coordinate of the tile's centre.
+     */
+    public double centreY(int tile) {
+        return originY + (tile / columns + 0.5) * tileSize;
+    }
+
+    /**
+     * Method that chooses the direction a ghost should leave a tile in.
+     * When chasing, the ghost steps to the open neighbour closest to the player; when scattering,
+     * to the one furthest away. A ghost does not turn back unless the tile is a dead end,
+     * and ties are broken in the order up, left, down, right.
+     *
+     * @param tile The tile the ghost is centred on.
+     * @param direction The direction the ghost is currently moving in.
+     * @param chase True to move towards the player, false to move away.
+     * @return The chosen direction, or the current one if the player cannot be reached from the tile.
+     */
+    public int chooseDirection(int tile, int direction, boolean chase) {
+        if (tile == NO_TILE || distances[tile] == UNREACHABLE) {
+            return direction;
+        }
+        int reverse = (direction + Ghost.REVERSE_DIRECTION) % Ghost.ALL_DIRECTION;
+        int best = NO_TILE;
+        int bestDistance = 0;
+        for (int candidate : PREFERENCE) {
+            int next = neighbour(tile % columns, tile / columns, candidate);
+            if (candidate == reverse || next == NO_TILE) {
+                continue;
+            }
+            int distance = distances[next];
+            if (best == NO_TILE || (chase ? distance < bestDistance : distance > bestDistance)) {
+                best = candidate;
+                bestDistance = distance;
+            }
+        }
+        if (best == NO_TILE) {
+            return neighbour(tile % columns, tile / columns, reverse) == NO_TILE ? direction : reverse;
+        }
+        return best;
+    }
+
+    /**
+     * Method that returns the open tile next to a tile in a ghost direction.
+     *
+     * @return The index of the neighbouring tile, or -1 if it is blocked or outside the grid.
+     */
+    private int neighbour(int column, int row, int direction) {
+        int nextColumn = column + Ghost.X_STEP[direction];
+        int nextRow = row + Ghost.Y_STEP[direction];
+        if (nextColumn < 0 || nextRow < 0 || nextColumn >= columns || nextRow >= rows) {
+            return NO_TILE;
+        }
+        int next = nextRow * columns + nextColumn;
+        return blocked[next] ? NO_TILE : next;
+    }
+}
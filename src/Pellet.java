@@ -1,5 +1,3 @@
-import bagel.Image;
-
 /**
  * This class represents the pellet entity in the game. Extends the EatableEntity class.
  * Pellet can be eaten by the player to switch the game to frenzy mode.
@@ -8,7 +6,7 @@ import bagel.Image;
  * @author RUOXUAN XU
  */
 public class Pellet extends EatableEntity{
-    private final static Image PELLET = new Image("res/pellet.png");
+    private final static Sprite PELLET = Sprite.load("res/pellet.png");
 
     /**
      * The value of the pellet in terms of points.
@@ -1,5 +1,4 @@
-import bagel.*;
-import bagel.util.Point;
+import java.nio.ByteBuffer;
 
 /**
  * The Player class represents a pacman entity in the game.
@@ -7,34 +6,35 @@ import bagel.util.Point;
  * The player can move, collect points, and interact with other entities in the game.
  * The player can move in different directions and has specific iterative images for animation.
  * The player's lives, score, and frenzy mode status are tracked and updated.
+ * The renderer draws the player and its score and lives from the state kept here.
  *
  * @author RUOXUAN XU
  */
 public class Player extends Entity implements Movable {
-    private final static String PAC = "res/pac.png";
-    private final static String PAC_OPEN = "res/pacOpen.png";
-    private final static Image HEART = new Image("res/heart.png");
+    private final static Sprite PAC = Sprite.load("res/pac.png");
+    private final static Sprite PAC_OPEN = Sprite.load("res/pacOpen.png");
     private final static double MOVE_SIZE = 3;
     private final static double SPEED_INCREASE = 1;
-    private final static int MAX_LIVES = 3;
     private final static int SWITCH_FRAME = 15;
-    private final static int FONT_SIZE = 20;
-    private final static String SCORE_STRING = "SCORE ";
-    private final static int SCORE_X = 25;
-    private final static int SCORE_Y = 25;
-    private final static int LIVES_X = 900;
-    private final static int LIVES_Y = 10;
-    private final static int LIVES_OFFSET = 30;
-    private final Font FONT = new Font("res/FSO8BITR.ttf", FONT_SIZE);
-    private final Point startingPosition;
-
-    private DrawOptions rotator = new DrawOptions();
+    private final static int OPEN_FLAG = 1;
+    private final static int OPEN_SPRITE_FLAG = 2;
+    private final static int FRENZY_FLAG = 4;
+
+    /**
+     * The number of lives a player starts each level with.
+     */
+    public final static int MAX_LIVES = 3;
+
+    private final double startingX;
+    private final double startingY;
+
+    private double rotation;
     private int counter;
     private int score;
     private int lives;
-    private Point position;
-    private Point prevPosition;
-    private Image currentImage;
+    private double previousX;
+    private double previousY;
+    private Sprite currentSprite;
     private boolean isOpen = false;
     private boolean isFrenzyMode;
 
@@ -45,99 +45,96 @@ public class Player extends Entity implements Movable {
      * @param initialY The initial y-coordinate of the player.
      */
     public Player(double initialX, double initialY) {
-        super(initialX, initialY, new Image(PAC));
+        super(initialX, initialY, PAC);
 
-        this.position = new Point(initialX, initialY);
-        this.startingPosition = position;
-        this.currentImage = new Image(PAC);
+        this.startingX = initialX;
+        this.startingY = initialY;
+        this.previousX = initialX;
+        this.previousY = initialY;
+        this.currentSprite = PAC;
         this.counter = SWITCH_FRAME;
         this.lives = MAX_LIVES;
         this.score = 0;
     }
 
     /**
-     * Method that updates the state of the player based on the user input and game object interactions.
-     * This method is called each frame to update the player's position, animation, collisions, score, and lives.
+     * Method that updates the state of the player based on the tick input and game object interactions.
+     * This method is called each tick to update the player's position and animation;
+     * the engine then checks the player's collisions.
      *
-     * @param input The input object that handles user input.
-     * @param gameObject The game object instance for collision detection and interaction.
+     * @param input The keys held during the tick, as GameInput flags.
      */
-    public void update(Input input, ShadowPac gameObject){
+    public void update(int input){
         counter--;
-        if (input.isDown(Keys.UP)){
+        if (GameInput.isSet(input, GameInput.UP)){
             move(0, -getMoveSize());
-            rotator.setRotation(-Math.PI/2);
-        } else if (input.isDown(Keys.DOWN)){
+            rotation = -Math.PI/2;
+        } else if (GameInput.isSet(input, GameInput.DOWN)){
             move(0, getMoveSize());
-            rotator.setRotation(Math.PI/2);
-        } else if (input.isDown(Keys.LEFT)){
+            rotation = Math.PI/2;
+        } else if (GameInput.isSet(input, GameInput.LEFT)){
             move(-getMoveSize(),0);
-            rotator.setRotation(Math.PI);
-        } else if (input.isDown(Keys.RIGHT)) {
+            rotation = Math.PI;
+        } else if (GameInput.isSet(input, GameInput.RIGHT)) {
             move(getMoveSize(),0);
-            rotator.setRotation(0);
+            rotation = 0;
         }
         if (counter == 0) {
             if (isOpen) {
-                currentImage = new Image(PAC);
+                currentSprite = PAC;
                 isOpen = false;
             } else {
-                currentImage = new Image(PAC_OPEN);
+                currentSprite = PAC_OPEN;
                 isOpen = true;
             }
             counter = SWITCH_FRAME;
         }
-        currentImage.drawFromTopLeft(position.x, position.y, rotator);
-        gameObject.checkCollisions(this);
-        renderScore();
-        renderLives();
     }
 
     /**
      * Method that moves the player by the specified pixels in the x and y directions.
-     * It updates the previous position and sets the new position of the player.
+     * It records the previous coordinates and updates the position in place.
      *
      * @param xMove The pixels to move in the x-direction.
      * @param yMove The pixels to move in the y-direction.
      */
     @Override
     public void move(double xMove, double yMove){
-        prevPosition = position;
-        position = new Point(position.x + xMove, position.y + yMove);
+        previousX = getX();
+        previousY = getY();
+        setPosition(previousX + xMove, previousY + yMove);
     }
 
     /**
-     * Method that renders the player's score.
-     */
-    private void renderScore(){
-        FONT.drawString(SCORE_STRING + score, SCORE_X, SCORE_Y);
-    }
-
-    /**
-     * Method that renders the player's lives.
+     * Method that resets the player's position to the starting location.
      */
-    private void renderLives(){
-        for (int i = 0; i < lives; i++){
-            HEART.drawFromTopLeft(LIVES_X + (LIVES_OFFSET*i), LIVES_Y);
-        }
+    @Override
+    public void resetPosition(){
+        previousX = startingX;
+        previousY = startingY;
+        setPosition(startingX, startingY);
+        currentSprite = PAC;
+        rotation = 0;
     }
 
     /**
-     * Method that resets the player's position to the starting location.
+     * Method that retrieves the x-coordinate the player had before its last move.
+     *
+     * @return The previous x-coordinate.
      */
     @Override
-    public void resetPosition(){
-        position = startingPosition;
-        currentImage = new Image(PAC);
-        rotator.setRotation(0);
+    public double getPreviousX() {
+        return previousX;
     }
 
     /**
-     * Method that moves the player back to its previous position when collides with walls.
+     * Method that retrieves the y-coordinate the player had before its last move.
+     *
+     * @return The previous y-coordinate.
      */
     @Override
-    public void moveBack(){
-        position = prevPosition;
+    public double getPreviousY() {
+        return previousY;
     }
 
     /**
@@ -174,32 +171,40 @@ public class Player extends Entity implements Movable {
     }
 
     /**
-     * Method that returns the current position of the player.
+     * Method that returns the current sprite of the player, which alternates
+     * between the closed and open mouth.
      *
-     * @return The current position of the player.
+     * @return The current sprite of the player.
      */
-    @Override
-    public Point getPosition() {
-        return position;
+    public Sprite getCurrentSprite() {
+        return currentSprite;
     }
 
     /**
-     * Method that sets the position of the player to the specified position.
+     * Method that returns the rotation the player is drawn with, facing its last move.
      *
-     * @param position The new position for the player.
+     * @return The rotation of the player in radians.
      */
-    @Override
-    public void setPosition(Point position) {
-        this.position = position;
+    public double getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Method that returns the player's current score.
+     *
+     * @return The score of the player.
+     */
+    public int getScore() {
+        return score;
     }
 
     /**
-     * Method that returns the current image of the player.
+     * Method that returns the player's remaining lives.
      *
-     * @return The current image of the player.
+     * @return The lives of the player.
      */
-    public Image getCurrentImage() {
-        return currentImage;
+    public int getLives() {
+        return lives;
     }
 
     /**
@@ -222,4 +227,53 @@ public class Player extends Entity implements Movable {
     public void setFrenzyMode(boolean isFrenzyMode) {
         this.isFrenzyMode = isFrenzyMode;
     }
+
+    /**
+     * Method that returns how many bytes writeState writes for the player.
+     *
+     * @return The size of the player's state in a snapshot.
+     */
+    @Override
+    public int stateBytes() {
+        return super.stateBytes() + 3 * Double.BYTES + 3 * Integer.BYTES + 1;
+    }
+
+    /**
+     * Method that writes the player's position, previous position, score, lives, animation and frenzy state
+     * to a game snapshot.
+     *
+     * @param out The buffer of the snapshot.
+     */
+    @Override
+    public void writeState(ByteBuffer out) {
+        super.writeState(out);
+        out.putDouble(previousX);
+        out.putDouble(previousY);
+        out.putDouble(rotation);
+        out.putInt(counter);
+        out.putInt(score);
+        out.putInt(lives);
+        out.put((byte) ((isOpen ? OPEN_FLAG : 0) | (currentSprite == PAC_OPEN ? OPEN_SPRITE_FLAG : 0)
+                | (isFrenzyMode ? FRENZY_FLAG : 0)));
+    }
+
+    /**
+     * Method that restores the state written by writeState, in the same order.
+     *
+     * @param in The buffer of the snapshot.
+     */
+    @Override
+    public void readState(ByteBuffer in) {
+        super.readState(in);
+        previousX = in.getDouble();
+        previousY = in.getDouble();
+        rotation = in.getDouble();
+        counter = in.getInt();
+        score = in.getInt();
+        lives = in.getInt();
+        int flags = in.get();
+        isOpen = (flags & OPEN_FLAG) != 0;
+        currentSprite = (flags & OPEN_SPRITE_FLAG) != 0 ? PAC_OPEN : PAC;
+        isFrenzyMode = (flags & FRENZY_FLAG) != 0;
+    }
 }
@@ -0,0 +1,53 @@
+import java.util.SplittableRandom;
+
+/**
+ * The RandomWalkPolicy class is a simple bot that walks the maze in random straight runs.
+ * It keeps a direction for a random number of ticks and picks a new one early when a wall stops it.
+ * It presses start whenever a level is waiting to begin.
+ * The bot draws from its own seeded generator, so the same seed gives the same inputs.
+ *
+ * @author RUOXUAN XU
+ */
+public class RandomWalkPolicy implements InputPolicy {
+    private final static int[] DIRECTIONS = {GameInput.UP, GameInput.RIGHT, GameInput.DOWN, GameInput.LEFT};
+    private final static int MIN_RUN = 10;
+    private final static int MAX_RUN = 80;
+
+    private final SplittableRandom random;
+    private int direction;
+    private int runLeft;
+    private double lastX = Double.NaN;
+    private double lastY = Double.NaN;
+
+    /**
+     * Method that constructs a RandomWalkPolicy with the given seed.
+     *
+     * @param seed The seed of the bot's random choices.
+     */
+    public RandomWalkPolicy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Method that chooses the keys for the next tick, turning when the run ends or the player is blocked.
+     *
+     * @param engine The game about to be ticked.
+     * @return The keys for the tick, as GameInput flags.
+     */
+    @Override
+    public int nextInput(GameEngine engine) {
+        if (!engine.hasStarted()) {
+            return GameInput.START;
+        }
+        Player player = engine.getPlayer();
+        boolean blocked = player.getX() == lastX && player.getY() == lastY;
+        if (runLeft <= 0 || blocked) {
+            direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            runLeft = random.nextInt(MIN_RUN, MAX_RUN + 1);
+        }
+        runLeft--;
+        lastX = player.getX();
+        lastY = player.getY();
+        return direction;
+    }
+}
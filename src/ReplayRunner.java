@@ -0,0 +1,64 @@
+import java.io.IOException;
+
+/**
+ * The ReplayRunner class replays recorded sessions on a headless engine as fast as possible.
+ * It prints the final state of each game so a replay can be compared with the original session,
+ * and the replay speed so recordings can double as a workload for performance runs.
+ *
+ * @author RUOXUAN XU
+ */
+public class ReplayRunner {
+    private final static double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * This is the main method for replaying recordings.
+     *
+     * @param args The paths of the recordings to replay.
+     */
+    public static void main(String[] args) {
+        for (String filename : args) {
+            try {
+                InputRecording recording = InputRecording.load(filename);
+                GameEngine engine = createEngine(recording);
+
+                long start = System.nanoTime();
+                recording.play(engine);
+                double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+
+                System.out.printf("%s: %d ticks in %d runs, level %d, score %d, lives %d, %s%n",
+                        filename, recording.getTicks(), recording.getRuns(), engine.getLevel(),
+                        engine.getPlayer().getScore(), engine.getPlayer().getLives(), describe(engine));
+                System.out.printf("  replayed in %.3f s (%.0f ticks/s)%n", seconds, recording.getTicks() / seconds);
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.exit(-1);
+            }
+        }
+    }
+
+    /**
+     * Method that creates the engine a recording replays on: the shipped levels, with the recorded seed,
+     * chasing and ghost collisions.
+     *
+     * @param recording The recording to replay.
+     * @return A new engine ready to play the recording.
+     */
+    public static GameEngine createEngine(InputRecording recording) {
+        GameEngine engine = new GameEngine(recording.getSeed());
+        engine.setChase(recording.isChase());
+        engine.setGhostCollision(recording.isGhostCollision());
+        return engine;
+    }
+
+    /**
+     * Method that describes how the replayed game ended.
+     */
+    private static String describe(GameEngine engine) {
+        if (engine.isGameOver()) {
+            return "game over";
+        } else if (engine.isPlayerWin()) {
+            return "level won";
+        }
+        return "in progress";
+    }
+}
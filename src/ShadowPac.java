@@ -1,16 +1,14 @@
 import bagel.*;
-import bagel.util.Rectangle;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 
 /**
  * SWEN20003 Project 2B, Semester 1, 2023
  * The ShadowPac class represents the main game class for the Shadow Pac game.
- * It extends the AbstractGame class and manages the game's logic, rendering,
- * and user input handling.
+ * It extends the AbstractGame class and handles rendering and user input.
+ * The game's logic runs in a GameEngine, which this class ticks once per frame and draws.
+ * Connected to a GameServer, it instead sends the keys to the server and draws the game the server sends back.
  *
  * @author RUOXUAN XU
  */
@@ -18,9 +16,9 @@ public class ShadowPac extends AbstractGame  {
     private final static int WINDOW_WIDTH = 1024;
     private final static int WINDOW_HEIGHT = 768;
     private final static String GAME_TITLE = "SHADOW PAC";
-    private final static String WORLD_FILE_0 = "res/level0.csv";
-    private final static String WORLD_FILE_1 = "res/level1.csv";
-    private final Image BACKGROUND_IMAGE = new Image("res/background0.png");
+    private final static String RES_DIRECTORY = "res";
+    private final static String BACKGROUND_FILE = "res/background0.png";
+    private final static String FONT_FILE = "res/FSO8BITR.ttf";
     private final static int TITLE_FONT_SIZE = 64;
     private final static int INSTRUCTION_FONT_SIZE_0 = 24;
     private final static int INSTRUCTION_FONT_SIZE_1 = 40;
@@ -36,336 +34,371 @@ public class ShadowPac extends AbstractGame  {
     private final static String END_MESSAGE = "GAME OVER!";
     private final static String WIN_MESSAGE = "WELL DONE!";
     private final static String LEVEL_COMPLETE = "LEVEL COMPLETE!";
-    private final Font TITLE_FONT = new Font("res/FSO8BITR.ttf", TITLE_FONT_SIZE);
-    private final Font INSTRUCTION_FONT_0 = new Font("res/FSO8BITR.ttf", INSTRUCTION_FONT_SIZE_0);
-    private final Font INSTRUCTION_FONT_1 = new Font("res/FSO8BITR.ttf", INSTRUCTION_FONT_SIZE_1);
-    private final static int LEVEL_0 = 0;
-    private final static int LEVEL_1 = 1;
-    private final static int FRENZY_INTERVAL = 1000;
-    private final static int LEVEL_INTERVAL = 300;
-    private final static int WIN_SCORE_0 = 1210;
-    private final static int WIN_SCORE_1 = 800;
+    private final static int FONT_SIZE = 20;
+    private final static String SCORE_STRING = "SCORE ";
+    private final static int SCORE_X = 25;
+    private final static int SCORE_Y = 25;
+    private final static int LIVES_X = 900;
+    private final static int LIVES_Y = 10;
+    private final static int LIVES_OFFSET = 30;
+    private final static int TICKS_PER_SECOND = 60;
+    private final static int MAX_TICKS_PER_FRAME = 5;
+    private final static double TELEPORT_DISTANCE = 50;
+    private final static String RECORD_OPTION = "--record";
+    private final static String PROFILE_OPTION = "--profile";
+    private final static String CHASE_OPTION = "--chase";
+    private final static String GHOST_COLLISION_OPTION = "--ghost-collision";
+    private final static String CONNECT_OPTION = "--connect";
+    private final static String PROFILE_LOG = "frame-profile.log";
+    private final static long PROFILE_DUMP_INTERVAL = 10_000_000_000L;
+    private final static int PROFILE_FONT_SIZE = 12;
+    private final static int PROFILE_X = 25;
+    private final static int PROFILE_Y = 640;
+    private final static int PROFILE_LINE_HEIGHT = 16;
 
-    private ArrayList<Wall> walls;
-    private ArrayList<EatableEntity> eatableEntities;
-    private ArrayList<Ghost> ghosts;
-    private ArrayList<Ghost> ghostsFrenzy;
-    private Player player;
-    private Pellet pellet;
-    private boolean hasStarted;
-    private boolean gameOver;
-    private boolean playerWin;
-    private boolean isFrenzyMode;
-    private int level;
-    private int frenzyCounter = FRENZY_INTERVAL;
-    private int levelCounter = LEVEL_INTERVAL;
+    private final static StartupTimer STARTUP = new StartupTimer();
+
+    private final AssetCache assets = preloadAssets();
+    private final Image BACKGROUND_IMAGE = assets.getImage(BACKGROUND_FILE);
+    private final Image HEART = assets.getImage("res/heart.png");
+    private final Font TITLE_FONT = assets.getFont(FONT_FILE, TITLE_FONT_SIZE);
+    private final Font INSTRUCTION_FONT_0 = assets.getFont(FONT_FILE, INSTRUCTION_FONT_SIZE_0);
+    private final Font INSTRUCTION_FONT_1 = assets.getFont(FONT_FILE, INSTRUCTION_FONT_SIZE_1);
+    private final Font FONT = assets.getFont(FONT_FILE, FONT_SIZE);
+    private final Font PROFILE_FONT = assets.getFont(FONT_FILE, PROFILE_FONT_SIZE);
+
+    {
+        STARTUP.lap("fonts");
+    }
+
+    private final GameEngine engine;
+    private final InputRecording recording;
+    private final GameClient client;
+    private final FrameProfiler profiler = new FrameProfiler(PROFILE_LOG, PROFILE_DUMP_INTERVAL);
+    private final boolean isProfile;
+    private final WallLayer wallLayer = new WallLayer(BACKGROUND_FILE, assets, WINDOW_WIDTH, WINDOW_HEIGHT);
+    private final SpriteBatch batch = new SpriteBatch(assets, WINDOW_WIDTH, WINDOW_HEIGHT);
+    private final FixedTimestep timestep = new FixedTimestep(TICKS_PER_SECOND, MAX_TICKS_PER_FRAME);
+    private ArrayList<Wall> layerWalls;
+    private String batchReport;
+    private int pendingStart;
+    private boolean hasDrawnFrame;
+    private double alpha;
 
     /**
      * Method that constructs a new instance of the ShadowPac class.
-     * It initializes the game window with the specified width, height, and title.
-     * The game starts at level 0, and the game will be reset to specific status.
+     * It initializes the game window with the specified width, height, and title,
+     * preloads the images, and creates the game engine which starts at level 0.
+     *
+     * @param record True if the keys of every tick should be recorded for replay.
+     * @param profile True if frame phases should be timed from the start.
+     * @param chase True if moving ghosts should chase the player.
+     * @param ghostCollision True if ghosts that run into each other should turn around.
+     * @param server The HOST:PORT of a GameServer to play on, or null to play locally.
      */
-    public ShadowPac(){
+    public ShadowPac(boolean record, boolean profile, boolean chase, boolean ghostCollision, String server){
         super(WINDOW_WIDTH, WINDOW_HEIGHT, GAME_TITLE);
-        level = LEVEL_0;
-        resetGame();
+        STARTUP.lap("wall layer and sprite batch");
+        engine = new GameEngine();
+        STARTUP.lap("level");
+        engine.setProfiler(profiler);
+        engine.setChase(chase);
+        engine.setGhostCollision(ghostCollision);
+        profiler.setEnabled(profile);
+        isProfile = profile;
+        recording = record && server == null ? new InputRecording(engine.getSeed(), chase, ghostCollision) : null;
+        client = server == null ? null : connect(server);
     }
 
     /**
-     * Method that resets the game state to prepare for a new game.
-     * It sets the game status flags to their initial values, initializes the lists
-     * for walls, eatable entities, ghosts, and frenzy ghosts, and reads the level's
-     * CSV file based on the current level.
+     * Method that connects to a GameServer, mirroring its game into the engine.
+     *
+     * @param server The HOST:PORT of the server.
+     * @return The client of the server.
      */
-    private void resetGame(){
-        hasStarted = false;
-        gameOver = false;
-        playerWin = false;
-        isFrenzyMode = false;
-
-        walls = new ArrayList<>();
-        eatableEntities = new ArrayList<>();
-        ghosts = new ArrayList<>();
-        ghostsFrenzy = new ArrayList<>();
-        if(level == LEVEL_0) {
-           readCSV(WORLD_FILE_0);
-        }else{
-           readCSV(WORLD_FILE_1);
+    private GameClient connect(String server) {
+        int separator = server.lastIndexOf(':');
+        try {
+            return new GameClient(server.substring(0, separator), Integer.parseInt(server.substring(separator + 1)),
+                    engine);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(-1);
+            return null;
         }
     }
 
     /**
-     * Method used to read csv file and create objects for specific entity.
-     * Entities with varying quantities are stored in an ArrayList.
+     * Method that loads every image in the resource directory before the first frame.
+     * It runs as the first field initializer, right after the window has been created.
      *
-     * @param filename The name of the CSV file to be read to start the particular game level.
+     * @return The asset cache holding the preloaded images.
      */
-    private void readCSV(String filename) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))){
-
-            String line;
-
-            while((line = reader.readLine()) != null){
-                String[] sections = line.split(",");
-                switch (sections[0]) {
-                    case "Player":
-                        player = new Player(Integer.parseInt(sections[1]), Integer.parseInt(sections[2]));
-                        break;
-                    case "Ghost":
-                        ghosts.add(new GhostRed(Integer.parseInt(sections[1]),
-                                Integer.parseInt(sections[2]),0));
-                        break;
-                    case "GhostRed":
-                        ghosts.add(new GhostRed(Integer.parseInt(sections[1]),
-                                Integer.parseInt(sections[2])));
-                        break;
-                    case "GhostBlue":
-                        ghosts.add(new GhostBlue(Integer.parseInt(sections[1]),
-                                Integer.parseInt(sections[2])));
-                        break;
-                    case "GhostGreen":
-                        ghosts.add(new GhostGreen(Integer.parseInt(sections[1]),
-                                Integer.parseInt(sections[2])));
-                        break;
-                    case "GhostPink":
-                        ghosts.add(new GhostPink(Integer.parseInt(sections[1]),
-                                Integer.parseInt(sections[2])));
-                        break;
-                    case "Dot":
-                        eatableEntities.add(new Dot(Integer.parseInt(sections[1]),
-                                Integer.parseInt(sections[2])));
-                        break;
-                    case "Wall":
-                        walls.add(new Wall(Integer.parseInt(sections[1]),
-                                Integer.parseInt(sections[2])));
-                        break;
-                    case "Cherry":
-                        eatableEntities.add(new Cherry(Integer.parseInt(sections[1]),
-                                Integer.parseInt(sections[2])));
-                        break;
-                    case "Pellet":
-                        pellet = new Pellet(Integer.parseInt(sections[1]),
-                                Integer.parseInt(sections[2]));
-                        break;
-                }
-            }
-        } catch (IOException e){
-            e.printStackTrace();
-            System.exit(-1);
-        }
+    private AssetCache preloadAssets() {
+        STARTUP.lap("window");
+        AssetCache cache = new AssetCache();
+        cache.preload(RES_DIRECTORY);
+        STARTUP.lap("images");
+        return cache;
     }
 
     /**
      * This is the main method for running and playing the Pacman game.
+     * With the arguments --record FILE, the session is recorded to FILE when the window closes,
+     * and can be replayed headlessly with ReplayRunner.
+     * With --profile, frame phases are timed from the start and logged; F3 toggles this in game.
+     * It also prints how long each startup step took once the first frame has been drawn,
+     * and what the asset cache loaded, then again when the game is closed with escape.
+     * With --chase, moving ghosts chase the player instead of following their own patterns.
+     * With --ghost-collision, ghosts that run into each other turn around as if they had hit a wall.
+     * With --connect HOST:PORT, the game is played on a GameServer, and --record, --chase and --ghost-collision
+     * are ignored.
      */
     public static void main(String[] args) {
-        ShadowPac game = new ShadowPac();
+        String recordFile = null;
+        boolean profile = false;
+        boolean chase = false;
+        boolean ghostCollision = false;
+        String server = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(RECORD_OPTION) && i + 1 < args.length) {
+                recordFile = args[++i];
+            } else if (args[i].equals(PROFILE_OPTION)) {
+                profile = true;
+            } else if (args[i].equals(CHASE_OPTION)) {
+                chase = true;
+            } else if (args[i].equals(GHOST_COLLISION_OPTION)) {
+                ghostCollision = true;
+            } else if (args[i].equals(CONNECT_OPTION) && i + 1 < args.length) {
+                server = args[++i];
+            }
+        }
+        ShadowPac game = new ShadowPac(recordFile != null, profile, chase, ghostCollision, server);
         game.run();
+        if (recordFile != null) {
+            try {
+                game.recording.save(recordFile);
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.exit(-1);
+            }
+        }
     }
 
     /**
-     * Method that updates the game state based on the user input.
+     * Method that advances the game engine using the user input, then draws the resulting state.
+     * The engine ticks at a fixed rate, so a frame may run several ticks or none,
+     * and moving entities are drawn between their last two tick positions.
+     * A start key press is held until a tick has consumed it.
+     * When playing on a server, the keys are sent instead, and the newest game received is drawn as it is.
+     * The wall layer is rebuilt when the level changes, and while the next level loads in the background,
+     * the layer of its walls is painted in the background too.
+     * F3 toggles the frame profiler and its overlay, before the frame is timed,
+     * so the frame that turns it on is timed from its start.
      *
      * @param input The input object containing user input.
      */
     @Override
     protected void update(Input input) {
+        if (input.wasPressed(Keys.F3)) {
+            profiler.setEnabled(!profiler.isEnabled());
+        }
+        long frameStart = profiler.start();
 
         if (input.wasPressed(Keys.ESCAPE)){
+            if (isProfile) {
+                System.out.println(assets.getReport());
+            }
             Window.close();
         }
-        BACKGROUND_IMAGE.draw(Window.getWidth()/2.0, Window.getHeight()/2.0);
-
-        if(!hasStarted){
-            drawStartScreen();
-            if (input.wasPressed(Keys.SPACE)){
-                hasStarted = true;
-            }
-        } else if (gameOver){
-            drawMessage(END_MESSAGE);
-        } else if (playerWin) {
-            updateLevel();
+        int keys = readInput(input);
+        if (client != null) {
+            client.sendInput(keys);
+            client.update();
+            alpha = 1;
         } else {
-            updateGame(input);
+            pendingStart |= keys & GameInput.START;
+            int ticks = timestep.advance(System.nanoTime());
+            for (int i = 0; i < ticks; i++) {
+                engine.tick(keys | pendingStart);
+                if (recording != null) {
+                    recording.record(keys | pendingStart);
+                }
+                pendingStart = GameInput.NONE;
+            }
+            alpha = timestep.getAlpha();
+        }
+        if (engine.getWalls() != layerWalls) {
+            layerWalls = engine.getWalls();
+            wallLayer.prepare(layerWalls);
+        }
+        if (engine.isPlayerWin()) {
+            wallLayer.prefetch(engine.getNextWalls());
         }
-    }
-
-    /**
-     * Method that updates the game state during regular gameplay.
-     * It tracks the frenzy game mode and winning status of the player.
-     *
-     * @param input The input object containing user input.
-     */
-    private void updateGame(Input input) {
-        player.update(input, this);
-        updateWalls();
-        updateBonus();
 
-        if (isFrenzyMode) {
-            if (frenzyCounter == 0) {
-                frenzyModeEnd();
+        if(!engine.hasStarted()){
+            BACKGROUND_IMAGE.draw(Window.getWidth()/2.0, Window.getHeight()/2.0);
+            drawStartScreen();
+        } else if (engine.isGameOver()){
+            BACKGROUND_IMAGE.draw(Window.getWidth()/2.0, Window.getHeight()/2.0);
+            drawMessage(END_MESSAGE);
+        } else if (engine.isPlayerWin()) {
+            BACKGROUND_IMAGE.draw(Window.getWidth()/2.0, Window.getHeight()/2.0);
+            if (engine.getLevel() == GameEngine.LEVEL_1) {
+                drawMessage(WIN_MESSAGE);
             } else {
-                frenzyCounter--;
-                updateGhosts(ghostsFrenzy);
+                drawMessage(LEVEL_COMPLETE);
             }
-        } else{
-            updateGhosts(ghosts);
+        } else {
+            drawGame();
         }
 
-        if (player.isDead()) {
-            gameOver = true;
-        } else{
-            if (level == LEVEL_0 && player.reachedScore(WIN_SCORE_0)) {
-                playerWin = true;
-            } else if (level == LEVEL_1 && player.reachedScore(WIN_SCORE_1)) {
-                playerWin = true;
+        profiler.stop(FrameProfiler.FRAME, frameStart);
+        if (profiler.isEnabled()) {
+            drawProfile();
+            profiler.dumpIfDue();
+        }
+        if (!hasDrawnFrame) {
+            hasDrawnFrame = true;
+            STARTUP.lap("first frame");
+            if (isProfile) {
+                System.out.println(STARTUP.getReport());
+                System.out.println(assets.getReport());
             }
         }
     }
 
     /**
-     * Method that updates the game state when transitioning to a new level.
+     * Method that draws the frame profiler's phase timings over the game,
+     * followed by the sprite batch's counts of the last gameplay frame.
      */
-    private void updateLevel() {
-        if (level == LEVEL_1) {
-            drawMessage(WIN_MESSAGE);
-        } else {
-            drawMessage(LEVEL_COMPLETE);
-            if (levelCounter == 0) {
-                level++;
-                resetGame();
-            } else {
-                levelCounter--;
-            }
+    private void drawProfile() {
+        String[] lines = profiler.getReport();
+        for (int i = 0; i < lines.length; i++) {
+            PROFILE_FONT.drawString(lines[i], PROFILE_X, PROFILE_Y + i * PROFILE_LINE_HEIGHT);
+        }
+        if (batchReport != null) {
+            PROFILE_FONT.drawString(batchReport, PROFILE_X, PROFILE_Y + lines.length * PROFILE_LINE_HEIGHT);
         }
     }
 
     /**
-     * Method that updates the eatable bonus entities in the game.
+     * Method that converts the keys read by bagel into GameInput flags for the engine.
+     *
+     * @param input The input object containing user input.
+     * @return The keys for this tick, as GameInput flags.
      */
-    private void updateBonus() {
-        for (EatableEntity current : eatableEntities) {
-            current.update();
+    private static int readInput(Input input) {
+        int keys = GameInput.NONE;
+        if (input.isDown(Keys.UP)) {
+            keys |= GameInput.UP;
         }
-
-        if (pellet != null) {
-            pellet.update();
+        if (input.isDown(Keys.DOWN)) {
+            keys |= GameInput.DOWN;
+        }
+        if (input.isDown(Keys.LEFT)) {
+            keys |= GameInput.LEFT;
         }
+        if (input.isDown(Keys.RIGHT)) {
+            keys |= GameInput.RIGHT;
+        }
+        if (input.wasPressed(Keys.SPACE)) {
+            keys |= GameInput.START;
+        }
+        return keys;
     }
 
     /**
-     * Method that updates the walls in the game.
+     * Method that draws the player, the score and lives, and the entities of the level during gameplay.
+     * The background and walls come from the pre-rendered wall layer, drawn with a single call.
+     * The entities are collected in the sprite batch and drawn ordered by texture.
      */
-    private void updateWalls() {
-        for (Wall current : walls) {
-            current.update();
+    private void drawGame() {
+        long start = profiler.start();
+        wallLayer.draw();
+        profiler.stop(FrameProfiler.DRAW_WORLD, start);
+
+        start = profiler.start();
+        Player player = engine.getPlayer();
+        batch.add(player.getCurrentSprite(), interpolateX(player), interpolateY(player), player.getRotation());
+
+        EatableStore eatables = engine.getEatableEntities();
+        for (int i = eatables.nextRemaining(0); i >= 0; i = eatables.nextRemaining(i + 1)) {
+            batch.add(eatables.getSprite(i), eatables.getX(i), eatables.getY(i));
+        }
+        Pellet pellet = engine.getPellet();
+        if (pellet != null && pellet.isActive()) {
+            batch.add(pellet.getSprite(), pellet.getX(), pellet.getY());
         }
+        for (Ghost current : engine.getGhosts()) {
+            if (current.isActive()) {
+                batch.add(current.getSprite(), interpolateX(current), interpolateY(current));
+            }
+        }
+        if (profiler.isEnabled()) {
+            batchReport = batch.getReport();
+        }
+        batch.flush();
+        profiler.stop(FrameProfiler.DRAW_ENTITIES, start);
+
+        start = profiler.start();
+        drawScore(player);
+        drawLives(player);
+        profiler.stop(FrameProfiler.DRAW_HUD, start);
     }
 
     /**
-     * Method that updates the ghosts in the game.
+     * Method that returns the x-coordinate to draw a moving entity at, between its last two tick positions.
+     * Entities that jumped further than a normal move, such as after a reset, are drawn where they are.
      *
-     @param ghosts The Arraylist of ghosts to update.
+     * @param entity The moving entity to draw.
+     * @return The interpolated x-coordinate.
      */
-    private void updateGhosts(ArrayList<Ghost> ghosts) {
-        for (Ghost current : ghosts) {
-            current.update();
+    private double interpolateX(Entity entity) {
+        if (isTeleport(entity)) {
+            return entity.getX();
         }
+        return entity.getTickStartX() + (entity.getX() - entity.getTickStartX()) * alpha;
     }
 
     /**
-     * Method that checks for collisions between the player and the other entities, and performs
-     * corresponding actions in normal and frenzy mode respectively.
+     * Method that returns the y-coordinate to draw a moving entity at, between its last two tick positions.
      *
-     * @param player The player entity in the game.
+     * @param entity The moving entity to draw.
+     * @return The interpolated y-coordinate.
      */
-    public void checkCollisions(Player player){
-        Rectangle playerBox = new Rectangle(player.getPosition(), player.getCurrentImage().getWidth(),
-                player.getCurrentImage().getHeight());
-
-        if(pellet != null){
-            Rectangle pelletBox = pellet.getBoundingBox();
-            if(pelletBox.intersects(playerBox) && pellet.isActive()){
-                pellet.isEaten();
-                frenzyModeStart();
-            }
-        }
-
-        if (isFrenzyMode) {
-            checkGhostCollision(ghostsFrenzy, playerBox);
-        } else {
-            checkGhostCollision(ghosts, playerBox);
-        }
-
-        for (EatableEntity current: eatableEntities){
-            Rectangle dotBox = current.getBoundingBox();
-            if (current.isActive() && playerBox.intersects(dotBox)) {
-                player.incrementScore(current.getPoints());
-                current.isEaten();
-            }
-        }
-
-        for (Wall current: walls){
-            Rectangle wallBox = current.getBoundingBox();
-            if (playerBox.intersects(wallBox)){
-                player.moveBack();
-            }
+    private double interpolateY(Entity entity) {
+        if (isTeleport(entity)) {
+            return entity.getY();
         }
+        return entity.getTickStartY() + (entity.getY() - entity.getTickStartY()) * alpha;
     }
 
     /**
-     * Method that checks for collisions between the ghost and the other entities, and performs
-     * corresponding actions in normal and frenzy mode respectively.
-     *
-     * @param ghosts The Arraylist of ghosts in the game.
-     * @param playerBox The rectangle that encloses the player's image.
+     * Method that checks whether an entity jumped during the latest tick instead of moving.
      */
-    private void checkGhostCollision(ArrayList<Ghost> ghosts, Rectangle playerBox){
-        for (Ghost current: ghosts) {
-            Rectangle ghostBox = current.getBoundingBox();
-            if (playerBox.intersects(ghostBox)) {
-                if(isFrenzyMode){
-                    if(current.isActive()) {
-                        player.incrementScore(Ghost.FRENZY_SCORE);
-                    }
-                }else {
-                    player.reduceLives();
-                    player.resetPosition();
-                }
-                current.resetPosition();
-            }
-            for (Wall wall : walls) {
-                Rectangle wallBox = wall.getBoundingBox();
-                if (ghostBox.intersects(wallBox)) {
-                    current.changeDirection();
-                    current.moveBack();
-                }
-            }
-        }
+    private static boolean isTeleport(Entity entity) {
+        return Math.abs(entity.getX() - entity.getTickStartX())
+                + Math.abs(entity.getY() - entity.getTickStartY()) > TELEPORT_DISTANCE;
     }
 
     /**
-     * Method that starts the frenzy mode in the game.
-     * During frenzy mode, the player and ghosts exhibit special behavior.
+     * Method that renders the player's score.
+     *
+     * @param player The player whose score is drawn.
      */
-    private void frenzyModeStart(){
-        isFrenzyMode = true;
-        player.setFrenzyMode(true);
-        for(Ghost ghost: ghosts){
-            ghostsFrenzy.add(new GhostFrenzy(ghost));
-        }
+    private void drawScore(Player player){
+        FONT.drawString(SCORE_STRING + player.getScore(), SCORE_X, SCORE_Y);
     }
 
     /**
-     * Method that ends the frenzy mode in the game.
-     * After ending frenzy mode, the game returns to regular gameplay.
-     * The frenzy ghosts are reset to their initial positions.
+     * Method that renders the player's lives.
+     *
+     * @param player The player whose lives are drawn.
      */
-    private void frenzyModeEnd(){
-        this.isFrenzyMode = false;
-        player.setFrenzyMode(false);
-        for(Ghost current: ghosts){
-            current.resetPosition();
+    private void drawLives(Player player){
+        for (int i = 0; i < player.getLives(); i++){
+            HEART.drawFromTopLeft(LIVES_X + (LIVES_OFFSET*i), LIVES_Y);
         }
     }
 
@@ -374,7 +407,7 @@ public class ShadowPac extends AbstractGame  {
      * and instructions for each level of the game.
      */
     private void drawStartScreen(){
-        if(level == LEVEL_0) {
+        if(engine.getLevel() == GameEngine.LEVEL_0) {
             TITLE_FONT.drawString(GAME_TITLE, TITLE_X, TITLE_Y);
             INSTRUCTION_FONT_0.drawString(INSTRUCTION_MESSAGE_0, TITLE_X + INS_X_OFFSET, TITLE_Y + INS_Y_OFFSET);
         } else{
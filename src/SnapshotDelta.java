@@ -0,0 +1,106 @@
+/**
+ * The SnapshotDelta class encodes a game snapshot as the difference from an earlier snapshot of the same game.
+ * The two snapshots are XORed byte by byte, so every field that has not changed becomes zero: ghosts that
+ * stood still, the score and lives while nothing is eaten, and the list of eaten items up to the new ones.
+ * The result is written as alternating runs of skipped zero bytes and literal changed bytes,
+ * each run length a VarInt, which leaves only moved ghosts, the player, newly eaten
+ * item indices and the changed counters on the wire.
+ * Without a baseline the snapshot is encoded against zeros, which still skips its empty fields.
+ *
+ * @author RUOXUAN XU
+ */
+public class SnapshotDelta {
+    private final static int MIN_ZERO_RUN = 4;
+
+    private SnapshotDelta() {
+    }
+
+    /**
+     * Method that returns the most bytes encode can write for a snapshot of the given size.
+     *
+     * @param targetLength The size of the snapshot to encode.
+     * @return The size the output buffer must have.
+     */
+    public static int maxEncodedBytes(int targetLength) {
+        return VarInt.MAX_BYTES + targetLength + (targetLength / MIN_ZERO_RUN + 1) * 2 * VarInt.MAX_BYTES;
+    }
+
+    /**
+     * Method that encodes a snapshot as the difference from a baseline.
+     * Zero runs shorter than a few bytes are kept inside the literal, where they cost less than a new run.
+     *
+     * @param base The baseline snapshot the receiver already has, or null to encode against zeros.
+     * @param baseLength The number of bytes of the baseline.
+     * @param target The snapshot to encode.
+     * @param targetLength The number of bytes of the snapshot.
+     * @param out The buffer to write into, with at least maxEncodedBytes after the offset.
+     * @param offset The position in the buffer to start writing at.
+     * @return The number of bytes written.
+     */
+    public static int encode(byte[] base, int baseLength, byte[] target, int targetLength, byte[] out, int offset) {
+        int written = VarInt.write(out, offset, targetLength);
+        int position = 0;
+        while (position < targetLength) {
+            int changed = position;
+            while (changed < targetLength && difference(base, baseLength, target, changed) == 0) {
+                changed++;
+            }
+            if (changed == targetLength) {
+                break;
+            }
+            int end = changed;
+            int zeros = 0;
+            while (end < targetLength && zeros < MIN_ZERO_RUN) {
+                zeros = difference(base, baseLength, target, end) == 0 ? zeros + 1 : 0;
+                end++;
+            }
+            if (zeros == MIN_ZERO_RUN) {
+                end -= zeros;
+            }
+            written = VarInt.write(out, written, changed - position);
+            written = VarInt.write(out, written, end - changed);
+            for (int i = changed; i < end; i++) {
+                out[written++] = difference(base, baseLength, target, i);
+            }
+            position = end;
+        }
+        return written - offset;
+    }
+
+    /**
+     * Method that rebuilds a snapshot from its baseline and an encoded difference.
+     *
+     * @param base The baseline snapshot the difference was encoded against, or null for zeros.
+     * @param delta The encoded difference.
+     * @param deltaLength The number of bytes of the encoded difference.
+     * @return The rebuilt snapshot.
+     */
+    public static byte[] decode(byte[] base, byte[] delta, int deltaLength) {
+        int[] position = {0};
+        int targetLength = VarInt.read(delta, position);
+        byte[] target = new byte[targetLength];
+        if (base != null) {
+            System.arraycopy(base, 0, target, 0, Math.min(base.length, targetLength));
+        }
+        int index = 0;
+        while (position[0] < deltaLength) {
+            index += VarInt.read(delta, position);
+            int literal = VarInt.read(delta, position);
+            for (int i = 0; i < literal; i++) {
+                target[index++] ^= delta[position[0]++];
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Method that returns the XOR of a snapshot byte with the baseline byte at the same position,
+     * treating bytes past the end of the baseline as zero.
+     */
+    private static byte difference(byte[] base, int baseLength, byte[] target, int index) {
+        if (base == null || index >= baseLength) {
+            return target[index];
+        }
+        return (byte) (base[index] ^ target[index]);
+    }
+}
@@ -0,0 +1,78 @@
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * The Sprite class describes the picture of an entity without loading it onto the graphics card.
+ * It only keeps the image file and its size, which are read from the PNG header,
+ * so the simulation can build bounding boxes without an OpenGL window.
+ * The renderer turns a sprite into a drawable image when it needs to draw it.
+ *
+ * @author RUOXUAN XU
+ */
+public class Sprite {
+    private final static int PNG_WIDTH_OFFSET = 16;
+
+    private final String file;
+    private final double width;
+    private final double height;
+
+    /**
+     * Method that constructs a Sprite with the given file and size.
+     *
+     * @param file The path of the image file.
+     * @param width The width of the image in pixels.
+     * @param height The height of the image in pixels.
+     */
+    public Sprite(String file, double width, double height) {
+        this.file = file;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Method that creates a Sprite by reading the width and height from the header of a PNG file.
+     *
+     * @param file The path of the PNG file.
+     * @return The sprite describing the file.
+     */
+    public static Sprite load(String file) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            in.skipBytes(PNG_WIDTH_OFFSET);
+            int width = in.readInt();
+            int height = in.readInt();
+            return new Sprite(file, width, height);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(-1);
+            return null;
+        }
+    }
+
+    /**
+     * Method that retrieves the path of the image file.
+     *
+     * @return The path of the image file.
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Method that retrieves the width of the sprite.
+     *
+     * @return The width in pixels.
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * Method that retrieves the height of the sprite.
+     *
+     * @return The height in pixels.
+     */
+    public double getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,51 @@
+import java.util.ArrayList;
+
+/**
+ * The StartupTimer class measures how long each step of starting the game takes, up to the first frame.
+ * Each call to lap closes the step that began at the previous lap, or when the timer was created,
+ * so the steps add up to the total time to first frame.
+ *
+ * @author RUOXUAN XU
+ */
+public class StartupTimer {
+    private final static double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long start;
+    private final ArrayList<String> steps = new ArrayList<>();
+    private final ArrayList<Long> durations = new ArrayList<>();
+    private long lastLap;
+
+    /**
+     * Method that constructs a StartupTimer which starts timing now.
+     */
+    public StartupTimer() {
+        this.start = System.nanoTime();
+        this.lastLap = start;
+    }
+
+    /**
+     * Method that ends the current step and starts the next one.
+     *
+     * @param step The name of the step that just finished.
+     */
+    public void lap(String step) {
+        long now = System.nanoTime();
+        steps.add(step);
+        durations.add(now - lastLap);
+        lastLap = now;
+    }
+
+    /**
+     * Method that summarises the steps timed so far and their total.
+     *
+     * @return A one-line report of the startup steps.
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder("startup:");
+        for (int i = 0; i < steps.size(); i++) {
+            report.append(String.format(" %s %.1f ms,", steps.get(i), durations.get(i) / NANOS_PER_MILLI));
+        }
+        report.append(String.format(" total %.1f ms", (lastLap - start) / NANOS_PER_MILLI));
+        return report.toString();
+    }
+}
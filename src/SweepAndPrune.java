@@ -0,0 +1,114 @@
+import java.util.Arrays;
+
+/**
+ * The SweepAndPrune class finds the moving entities whose bounding boxes overlap, without testing every pair.
+ * The movers are kept in an array sorted by the left edge of their boxes. Movers only move a few pixels
+ * per tick, so the order barely changes and re-sorting with an insertion sort costs close to one pass.
+ * A sweep along the sorted array then only compares each mover with the movers that start before it ends,
+ * so the cost grows with the number of movers plus the number of pairs that are actually close.
+ * Each overlapping pair is reported once, by the ids the movers were added with.
+ *
+ * @author RUOXUAN XU
+ */
+public class SweepAndPrune {
+    private final static int INITIAL_CAPACITY = 16;
+
+    private Entity[] movers = new Entity[INITIAL_CAPACITY];
+    private int[] sorted = new int[INITIAL_CAPACITY];
+    private int[] pairFirst = new int[INITIAL_CAPACITY];
+    private int[] pairSecond = new int[INITIAL_CAPACITY];
+    private int size;
+    private int pairCount;
+
+    /**
+     * Method that removes every mover.
+     */
+    public void clear() {
+        Arrays.fill(movers, 0, size, null);
+        size = 0;
+        pairCount = 0;
+    }
+
+    /**
+     * Method that adds a mover and returns the id its pairs are reported with.
+     * Ids are given out in order from 0.
+     *
+     * @param mover The moving entity.
+     * @return The id of the mover.
+     */
+    public int add(Entity mover) {
+        if (size == movers.length) {
+            movers = Arrays.copyOf(movers, size * 2);
+            sorted = Arrays.copyOf(sorted, size * 2);
+        }
+        movers[size] = mover;
+        sorted[size] = size;
+        return size++;
+    }
+
+    /**
+     * Method that re-sorts the movers by their current left edges and collects every overlapping pair.
+     * Touching boxes count as overlapping, as they do for Entity.intersects.
+     *
+     * @return The number of pairs found.
+     */
+    public int findPairs() {
+        for (int i = 1; i < size; i++) {
+            int id = sorted[i];
+            double x = movers[id].getX();
+            int j = i - 1;
+            while (j >= 0 && movers[sorted[j]].getX() > x) {
+                sorted[j + 1] = sorted[j];
+                j--;
+            }
+            sorted[j + 1] = id;
+        }
+
+        pairCount = 0;
+        for (int i = 0; i < size; i++) {
+            Entity first = movers[sorted[i]];
+            double right = first.getX() + first.getWidth();
+            for (int j = i + 1; j < size && movers[sorted[j]].getX() <= right; j++) {
+                Entity second = movers[sorted[j]];
+                if (first.getY() <= second.getY() + second.getHeight()
+                        && second.getY() <= first.getY() + first.getHeight()) {
+                    addPair(sorted[i], sorted[j]);
+                }
+            }
+        }
+        return pairCount;
+    }
+
+    /**
+     * Method that records an overlapping pair, growing the pair arrays when they are full.
+     */
+    private void addPair(int first, int second) {
+        if (pairCount == pairFirst.length) {
+            pairFirst = Arrays.copyOf(pairFirst, pairCount * 2);
+            pairSecond = Arrays.copyOf(pairSecond, pairCount * 2);
+        }
+        pairFirst[pairCount] = Math.min(first, second);
+        pairSecond[pairCount] = Math.max(first, second);
+        pairCount++;
+    }
+
+    /**
+     * Method that returns the smaller mover id of a pair found by the last call to findPairs.
+     *
+     * @param pair The index of the pair.
+     * @return The id of the first mover of the pair.
+     */
+    public int getFirst(int pair) {
+        return pairFirst[pair];
+    }
+
+    /**
+     * Method that returns the larger mover id of a pair found by the last call to findPairs.
+     *
+     * @param pair The index of the pair.
+     * @return The id of the second mover of the pair.
+     */
+    public int getSecond(int pair) {
+        return pairSecond[pair];
+    }
+}
@@ -0,0 +1,94 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The VarInt class writes and reads non-negative ints in as few bytes as possible, seven bits per byte,
+ * lowest bits first, with the top bit of each byte set while more bytes follow.
+ * Input recordings store their run lengths this way, and snapshot deltas their run lengths and sizes.
+ *
+ * @author RUOXUAN XU
+ */
+public final class VarInt {
+    private final static int BITS = 7;
+    private final static int MASK = 0x7F;
+    private final static int MORE = 0x80;
+
+    /**
+     * The most bytes a varint can take.
+     */
+    public final static int MAX_BYTES = 5;
+
+    private VarInt() {
+    }
+
+    /**
+     * Method that writes a varint into an array.
+     *
+     * @param out The array to write into.
+     * @param position The position to write at.
+     * @param value The non-negative int to write.
+     * @return The position after the written bytes.
+     */
+    public static int write(byte[] out, int position, int value) {
+        while ((value & ~MASK) != 0) {
+            out[position++] = (byte) ((value & MASK) | MORE);
+            value >>>= BITS;
+        }
+        out[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * Method that reads a varint from an array, advancing the position held in the position array.
+     *
+     * @param in The array to read from.
+     * @param position A one-element array holding the position to read at, advanced past the read bytes.
+     * @return The int read.
+     */
+    public static int read(byte[] in, int[] position) {
+        int value = 0;
+        int shift = 0;
+        int current;
+        do {
+            current = in[position[0]++] & 0xFF;
+            value |= (current & MASK) << shift;
+            shift += BITS;
+        } while ((current & MORE) != 0);
+        return value;
+    }
+
+    /**
+     * Method that writes a varint to a stream.
+     *
+     * @param out The stream to write to.
+     * @param value The non-negative int to write.
+     * @throws IOException If the stream cannot be written.
+     */
+    public static void write(DataOutputStream out, int value) throws IOException {
+        while ((value & ~MASK) != 0) {
+            out.writeByte((value & MASK) | MORE);
+            value >>>= BITS;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Method that reads a varint from a stream.
+     *
+     * @param in The stream to read from.
+     * @return The int read.
+     * @throws IOException If the stream cannot be read or ends within the varint.
+     */
+    public static int read(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int current;
+        do {
+            current = in.readUnsignedByte();
+            value |= (current & MASK) << shift;
+            shift += BITS;
+        } while ((current & MORE) != 0);
+        return value;
+    }
+}
@@ -1,5 +1,3 @@
-import bagel.Image;
-
 /**
  * This class represents a wall entity in the game. Extends the Entity class.
  * Walls cannot be overlapped by any entity.
@@ -7,7 +5,7 @@ import bagel.Image;
  * @author RUOXUAN XU
  */
 public class Wall extends Entity {
-    private final static Image WALL = new Image("res/wall.png");
+    private final static Sprite WALL = Sprite.load("res/wall.png");
 
     /**
      * Method that constructs a Wall object at the specified position.
@@ -0,0 +1,154 @@
+import java.util.ArrayList;
+
+/**
+ * The WallGrid class is a static spatial index over the walls of a level.
+ * The walls are bucketed into a uniform grid of cells once when the level is loaded,
+ * so a moving entity only needs to test the walls in the cells that its bounding box overlaps.
+ * The grid reads entity coordinates directly, so queries create no objects.
+ * Moving entities are resolved against the walls with sweep, which follows the whole move
+ * instead of only testing where the entity ended up, so fast entities cannot skip over a wall.
+ * Each wall is stored in the single cell containing its top-left corner, and the cell size is
+ * at least as large as the biggest wall, so a wall can only spill into the next cell to the
+ * right or below. Queries therefore look one extra cell up and left, and never see a wall twice.
+ *
+ * @author RUOXUAN XU
+ */
+public class WallGrid {
+    private final double originX;
+    private final double originY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final ArrayList<ArrayList<Wall>> cells;
+
+    /**
+     * Method that constructs a WallGrid and buckets every given wall into its cell.
+     *
+     * @param walls The walls of the level, which never move after loading.
+     */
+    public WallGrid(ArrayList<Wall> walls) {
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        double largest = 1;
+        for (Wall wall : walls) {
+            minX = Math.min(minX, wall.getX());
+            minY = Math.min(minY, wall.getY());
+            maxX = Math.max(maxX, wall.getX());
+            maxY = Math.max(maxY, wall.getY());
+            largest = Math.max(largest, Math.max(wall.getWidth(), wall.getHeight()));
+        }
+        if (walls.isEmpty()) {
+            minX = minY = maxX = maxY = 0;
+        }
+
+        this.originX = minX;
+        this.originY = minY;
+        this.cellSize = largest;
+        this.columns = (int) ((maxX - minX) / cellSize) + 1;
+        this.rows = (int) ((maxY - minY) / cellSize) + 1;
+        this.cells = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            cells.add(new ArrayList<>());
+        }
+        for (Wall wall : walls) {
+            cells.get(cellIndex(column(wall.getX()), row(wall.getY()))).add(wall);
+        }
+    }
+
+    /**
+     * Method that sweeps an entity's bounding box from where it started the tick to where it is now,
+     * and stops it where it first touches a wall. The move is followed along the x-axis first and then
+     * the y-axis, and each axis is clamped to the nearest wall edge in the way, so the entity comes to rest
+     * exactly against that wall however far it moved. Touching a wall does not block a move along it or
+     * away from it, and a wall the entity already overlaps when it starts does not block it either.
+     *
+     * @param mover The entity, already at the end of its move.
+     * @param fromX The x-coordinate the entity moved from.
+     * @param fromY The y-coordinate the entity moved from.
+     * @return True if a wall stopped the entity, otherwise false.
+     */
+    public boolean sweep(Entity mover, double fromX, double fromY) {
+        double toX = mover.getX();
+        double toY = mover.getY();
+        if (toX == fromX && toY == fromY) {
+            return false;
+        }
+        double x = sweepAxis(fromX, toX, fromY, mover.getWidth(), mover.getHeight(), true);
+        double y = sweepAxis(fromY, toY, x, mover.getHeight(), mover.getWidth(), false);
+        if (x == toX && y == toY) {
+            return false;
+        }
+        mover.setPosition(x, y);
+        return true;
+    }
+
+    /**
+     * Method that moves a box along one axis and returns how far it gets before touching a wall.
+     *
+     * @param from The box's coordinate on the axis before the move.
+     * @param to The box's coordinate on the axis after the move.
+     * @param cross The box's coordinate on the other axis, which does not change.
+     * @param size The box's size along the axis.
+     * @param crossSize The box's size along the other axis.
+     * @param horizontal True to move along the x-axis, false for the y-axis.
+     * @return The coordinate on the axis where the box stops.
+     */
+    private double sweepAxis(double from, double to, double cross, double size, double crossSize,
+                             boolean horizontal) {
+        if (from == to) {
+            return from;
+        }
+        double low = Math.min(from, to);
+        double high = Math.max(from, to) + size;
+        int firstColumn = Math.max(column(horizontal ? low : cross) - 1, 0);
+        int lastColumn = Math.min(column(horizontal ? high : cross + crossSize), columns - 1);
+        int firstRow = Math.max(row(horizontal ? cross : low) - 1, 0);
+        int lastRow = Math.min(row(horizontal ? cross + crossSize : high), rows - 1);
+
+        double limit = to;
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                ArrayList<Wall> cell = cells.get(cellIndex(c, r));
+                for (int i = 0; i < cell.size(); i++) {
+                    Wall wall = cell.get(i);
+                    double wallStart = horizontal ? wall.getX() : wall.getY();
+                    double wallEnd = wallStart + (horizontal ? wall.getWidth() : wall.getHeight());
+                    double wallCross = horizontal ? wall.getY() : wall.getX();
+                    double wallCrossEnd = wallCross + (horizontal ? wall.getHeight() : wall.getWidth());
+                    if (wallCrossEnd <= cross || wallCross >= cross + crossSize) {
+                        continue;
+                    }
+                    if (to > from && wallStart >= from + size) {
+                        limit = Math.min(limit, wallStart - size);
+                    } else if (to < from && wallEnd <= from) {
+                        limit = Math.max(limit, wallEnd);
+                    }
+                }
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * Method that converts an x-coordinate into a grid column.
+     */
+    private int column(double x) {
+        return (int) Math.floor((x - originX) / cellSize);
+    }
+
+    /**
+     * Method that converts a y-coordinate into a grid row.
+     */
+    private int row(double y) {
+        return (int) Math.floor((y - originY) / cellSize);
+    }
+
+    /**
+     * Method that converts a column and row into an index into the cell list.
+     */
+    private int cellIndex(int column, int row) {
+        return row * columns + column;
+    }
+}
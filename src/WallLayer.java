@@ -0,0 +1,160 @@
+import bagel.Image;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The WallLayer class pre-renders the background and the walls of a level into a single image.
+ * Walls never move after the level is loaded, so they are painted onto a copy of the background
+ * once, in memory, and the result is loaded as one texture. Each frame then draws the whole layer
+ * with a single call instead of one call per wall.
+ * Painting a layer does not need the OpenGL context, so the layer of the next level can be
+ * painted on a background thread before the level changes; only loading the finished image
+ * happens on the render thread.
+ * The painted image is handed to bagel through a new file in the temporary directory for every paint,
+ * so games running at the same time never share one, and the file is deleted once loaded.
+ * If a layer cannot be painted, the background and walls are drawn one by one instead.
+ *
+ * @author RUOXUAN XU
+ */
+public class WallLayer {
+    private final static String LAYER_PREFIX = "shadowpac-walls-";
+    private final static String LAYER_SUFFIX = ".png";
+    private final static String LAYER_FORMAT = "png";
+    private final static ExecutorService LAYER_PAINTER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "wall-layer-painter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String backgroundFile;
+    private final AssetCache assets;
+    private final double viewWidth;
+    private final double viewHeight;
+    private ArrayList<Wall> walls;
+    private Image image;
+    private ArrayList<Wall> prefetchedWalls;
+    private CompletableFuture<String> prefetchedFile;
+
+    /**
+     * Method that constructs a WallLayer drawn on top of the given background.
+     *
+     * @param backgroundFile The path of the background image, which is drawn centred in the window.
+     * @param assets The cache the finished layer is loaded through.
+     * @param viewWidth The width of the window.
+     * @param viewHeight The height of the window.
+     */
+    public WallLayer(String backgroundFile, AssetCache assets, double viewWidth, double viewHeight) {
+        this.backgroundFile = backgroundFile;
+        this.assets = assets;
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+    }
+
+    /**
+     * Method that builds the layer of a level that has not been rendered yet.
+     * It is called when the level changes, and does nothing for the walls already prepared.
+     *
+     * @param walls The walls of the current level.
+     */
+    public void prepare(ArrayList<Wall> walls) {
+        if (this.walls == walls) {
+            return;
+        }
+        this.walls = walls;
+        CompletableFuture<String> prefetched = walls == prefetchedWalls ? prefetchedFile : null;
+        prefetchedWalls = null;
+        prefetchedFile = null;
+        try {
+            String file = prefetched != null ? prefetched.join() : paint(walls);
+            image = assets.getImage(file);
+            Files.deleteIfExists(Paths.get(file));
+        } catch (CompletionException e) {
+            e.getCause().printStackTrace();
+            image = null;
+        } catch (UncheckedIOException e) {
+            e.printStackTrace();
+            image = null;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Method that starts painting the layer of an upcoming level on a background thread,
+     * so that preparing that level later only has to load the finished image.
+     *
+     * @param walls The walls of the upcoming level, or null if no level is upcoming.
+     */
+    public void prefetch(ArrayList<Wall> walls) {
+        if (walls != null && walls != prefetchedWalls && walls != this.walls) {
+            prefetchedWalls = walls;
+            prefetchedFile = CompletableFuture.supplyAsync(() -> paint(walls), LAYER_PAINTER);
+        }
+    }
+
+    /**
+     * Method that draws the background and walls of the prepared level, centred like the background,
+     * with a single call, or one by one if the layer could not be painted.
+     */
+    public void draw() {
+        if (image != null) {
+            image.draw(viewWidth / 2.0, viewHeight / 2.0);
+            return;
+        }
+        assets.getImage(backgroundFile).draw(viewWidth / 2.0, viewHeight / 2.0);
+        for (Wall wall : walls) {
+            assets.getImage(wall.getSprite()).drawFromTopLeft(wall.getX(), wall.getY());
+        }
+    }
+
+    /**
+     * Method that paints the walls onto a copy of the background and writes the result to a new temporary file.
+     * The background is centred in the window, so the walls are offset by its margin to keep their window positions.
+     *
+     * @param walls The walls to paint.
+     * @return The path of the image holding the background and walls.
+     * @throws UncheckedIOException If an image cannot be read or the layer cannot be written.
+     */
+    private String paint(ArrayList<Wall> walls) {
+        try {
+            BufferedImage background = ImageIO.read(new File(backgroundFile));
+            BufferedImage layer = new BufferedImage(background.getWidth(), background.getHeight(),
+                    BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = layer.createGraphics();
+            graphics.drawImage(background, 0, 0, null);
+
+            double originX = (viewWidth - background.getWidth()) / 2.0;
+            double originY = (viewHeight - background.getHeight()) / 2.0;
+            HashMap<Sprite, BufferedImage> pictures = new HashMap<>();
+            for (Wall wall : walls) {
+                BufferedImage picture = pictures.get(wall.getSprite());
+                if (picture == null) {
+                    picture = ImageIO.read(new File(wall.getSprite().getFile()));
+                    pictures.put(wall.getSprite(), picture);
+                }
+                graphics.drawImage(picture, (int) (wall.getX() - originX), (int) (wall.getY() - originY), null);
+            }
+            graphics.dispose();
+
+            File file = File.createTempFile(LAYER_PREFIX, LAYER_SUFFIX);
+            file.deleteOnExit();
+            ImageIO.write(layer, LAYER_FORMAT, file);
+            return file.getPath();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
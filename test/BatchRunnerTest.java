@@ -0,0 +1,74 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The BatchRunnerTest class checks that a batch of games is reproducible from its seed,
+ * however the games are spread over the pool's workers, and that games on a level file are not counted as won.
+ *
+ * @author RUOXUAN XU
+ */
+public class BatchRunnerTest {
+    private final static int GAMES = 8;
+    private final static long MAX_TICKS = 5000;
+    private final static long SEED = 7;
+    private final static long ELAPSED_NANOS = 1;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void sameSeedPlaysTheSameBatch() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            BatchResult first = new BatchRunner(MAX_TICKS, SEED).run(GAMES, single);
+            BatchResult second = new BatchRunner(MAX_TICKS, SEED).run(GAMES, several);
+            assertEquals(GAMES, first.getGames());
+            assertEquals(first.getReport(ELAPSED_NANOS), second.getReport(ELAPSED_NANOS));
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    public void gameSeedReplaysOneGame() {
+        BatchRunner runner = new BatchRunner(MAX_TICKS, SEED);
+        BatchResult first = new BatchResult();
+        BatchResult second = new BatchResult();
+        runner.playGame(runner.seedOf(3), first);
+        runner.playGame(runner.seedOf(3), second);
+        assertEquals(first.getReport(ELAPSED_NANOS), second.getReport(ELAPSED_NANOS));
+    }
+
+    @Test
+    public void levelFileGamesAreNotCountedAsWon() throws IOException {
+        String level = directory.resolve("level.csv").toString();
+        try (PrintWriter writer = new PrintWriter(level)) {
+            writer.println("Player,100,100");
+            writer.println("Dot,150,100");
+            writer.println("Wall,0,0");
+        }
+        BatchRunner runner = new BatchRunner(MAX_TICKS, SEED, level);
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            BatchResult result = runner.run(GAMES, pool);
+            assertFalse(runner.isWinCounted());
+            assertEquals(GAMES, result.getGames());
+            assertEquals(0, result.getWins());
+            assertTrue(result.getReport(ELAPSED_NANOS).startsWith("games " + GAMES + ": wins not counted"),
+                    result.getReport(ELAPSED_NANOS));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The CollisionAllocationTest class checks that the collision pass allocates nothing once warmed up.
+ * The player is placed on every point of a grid over the first level in turn and stepped right, so
+ * the measured passes sweep against walls, eat every item and run into every ghost, instead of checking
+ * one frozen position. Each pass runs on a fresh game, so the measured one still has everything to eat.
+ *
+ * @author RUOXUAN XU
+ */
+public class CollisionAllocationTest {
+    private final static long SEED = 2023;
+    private final static int WARM_UP_PASSES = 3;
+    private final static int WIDTH = 1024;
+    private final static int HEIGHT = 768;
+    private final static int X_STEP = 7;
+    private final static int Y_STEP = 11;
+
+    @Test
+    public void collisionPassAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "the JVM cannot measure thread allocation");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARM_UP_PASSES; i++) {
+            scan(startedGame());
+        }
+
+        GameEngine engine = startedGame();
+        long before = threads.getThreadAllocatedBytes(thread);
+        scan(engine);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertEquals(0, allocated, "bytes allocated by the collision passes");
+        assertEquals(0, engine.getEatableEntities().remainingCount(), "items left after the scan");
+    }
+
+    /**
+     * Method that creates a game of the first level and starts it.
+     */
+    private static GameEngine startedGame() {
+        GameEngine engine = new GameEngine(SEED);
+        engine.tick(GameInput.START);
+        return engine;
+    }
+
+    /**
+     * Method that places the player on every point of the grid, steps it right and runs the collision pass.
+     */
+    private static void scan(GameEngine engine) {
+        Player player = engine.getPlayer();
+        for (int y = 0; y < HEIGHT; y += Y_STEP) {
+            for (int x = 0; x < WIDTH; x += X_STEP) {
+                player.setPosition(x, y);
+                player.markTickStart();
+                player.update(GameInput.RIGHT);
+                engine.checkCollisions(player);
+            }
+        }
+    }
+}
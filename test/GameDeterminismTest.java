@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The GameDeterminismTest class checks that a game is fully determined by its seed and inputs.
+ * The second level is played, as its green and pink ghosts make random choices.
+ *
+ * @author RUOXUAN XU
+ */
+public class GameDeterminismTest {
+    private final static String LEVEL = "res/level1.bin";
+    private final static long SEED = 11;
+    private final static long OTHER_SEED = 12;
+    private final static int TICKS = 5000;
+    private final static int CHECK_INTERVAL = 250;
+    private final static int RANDOM_DRAWS = 1000;
+
+    @Test
+    public void sameSeedPlaysTheSameGame() {
+        playsTheSameGame(false);
+    }
+
+    @Test
+    public void sameSeedPlaysTheSameChase() {
+        playsTheSameGame(true);
+    }
+
+    @Test
+    public void otherSeedMovesTheGhostsDifferently() {
+        GameEngine engine = new GameEngine(LEVEL, LEVEL, SEED);
+        GameEngine other = new GameEngine(LEVEL, LEVEL, OTHER_SEED);
+        boolean differs = false;
+        for (int tick = 0; tick < TICKS && !differs; tick++) {
+            int input = tick == 0 ? GameInput.START : GameInput.NONE;
+            engine.tick(input);
+            other.tick(input);
+            for (int ghost = 0; ghost < engine.getGhosts().size(); ghost++) {
+                differs |= engine.getGhosts().get(ghost).getX() != other.getGhosts().get(ghost).getX()
+                        || engine.getGhosts().get(ghost).getY() != other.getGhosts().get(ghost).getY();
+            }
+        }
+        assertTrue(differs, "the ghosts of two seeds never parted");
+    }
+
+    @Test
+    public void splitGeneratorsRepeat() {
+        GameRandom first = new GameRandom(SEED);
+        GameRandom second = new GameRandom(SEED);
+        GameRandom firstChild = first.split();
+        GameRandom secondChild = second.split();
+        for (int i = 0; i < RANDOM_DRAWS; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+            assertEquals(firstChild.nextInt(i + 1), secondChild.nextInt(i + 1));
+        }
+        GameRandom resumed = new GameRandom(0);
+        resumed.setState(first.getState());
+        assertEquals(first.nextLong(), resumed.nextLong());
+    }
+
+    /**
+     * Method that ticks two engines with the same seed and inputs, and compares their snapshots along the way.
+     * The inputs come from a bot reading the first engine, so both get them whatever the second does.
+     */
+    private static void playsTheSameGame(boolean isChase) {
+        GameEngine engine = new GameEngine(LEVEL, LEVEL, SEED);
+        GameEngine copy = new GameEngine(LEVEL, LEVEL, SEED);
+        engine.setChase(isChase);
+        copy.setChase(isChase);
+        RandomWalkPolicy policy = new RandomWalkPolicy(SEED);
+        for (int tick = 1; tick <= TICKS; tick++) {
+            int input = policy.nextInput(engine);
+            engine.tick(input);
+            copy.tick(input);
+            if (tick % CHECK_INTERVAL == 0) {
+                assertArrayEquals(Snapshots.of(engine), Snapshots.of(copy), "snapshots differ at tick " + tick);
+            }
+        }
+    }
+}
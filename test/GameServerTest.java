@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The GameServerTest class checks over loopback that every client's mirror ends up exactly
+ * like its game on the server, and that sessions keep their ids when another client leaves.
+ *
+ * @author RUOXUAN XU
+ */
+public class GameServerTest {
+    private final static String HOST = "localhost";
+    private final static int CLIENTS = 3;
+    private final static int SECONDS = 1;
+    private final static long WAIT_MILLIS = 5000;
+    private final static long POLL_MILLIS = 10;
+
+    @Test
+    public void mirrorsMatchTheServer() throws IOException, InterruptedException {
+        assertEquals(CLIENTS, LoopbackHarness.run(CLIENTS, SECONDS, false));
+    }
+
+    @Test
+    public void mirrorsMatchTheServerWhenChasing() throws IOException, InterruptedException {
+        assertEquals(CLIENTS, LoopbackHarness.run(CLIENTS, SECONDS, true));
+    }
+
+    @Test
+    public void sessionsKeepTheirIdsWhenAClientLeaves() throws IOException, InterruptedException {
+        GameServer server = new GameServer(0, false);
+        server.start();
+        GameClient[] clients = new GameClient[CLIENTS];
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients[i] = new GameClient(HOST, server.getPort(), new GameEngine());
+                int connected = i + 1;
+                waitUntil(() -> server.getSessionCount() == connected);
+            }
+            int[] ids = server.getSessionIds();
+            assertEquals(CLIENTS, ids.length);
+            GameEngine last = server.getEngine(ids[CLIENTS - 1]);
+
+            clients[0].close();
+            waitUntil(() -> server.getSessionCount() == CLIENTS - 1);
+            assertArrayEquals(new int[] {ids[1], ids[2]}, server.getSessionIds());
+            assertEquals(last, server.getEngine(ids[CLIENTS - 1]));
+            assertNotNull(server.getEngine(ids[1]));
+            assertThrows(IllegalArgumentException.class, () -> server.getEngine(ids[0]));
+        } finally {
+            for (GameClient client : clients) {
+                if (client != null) {
+                    client.close();
+                }
+            }
+            server.close();
+        }
+    }
+
+    /**
+     * Method that waits until a condition holds, or a few seconds have passed.
+     */
+    private static void waitUntil(Condition condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!condition.holds() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+
+    /**
+     * The Condition interface is a check polled by waitUntil.
+     */
+    private interface Condition {
+        boolean holds();
+    }
+}
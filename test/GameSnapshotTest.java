@@ -0,0 +1,288 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The GameSnapshotTest class checks that saving and restoring a game reproduces it exactly:
+ * restored games save the same bytes and play on the same, within a level, across levels and during
+ * the level-complete countdown, and snapshots that are not whole snapshots of the game are rejected
+ * without changing it. Both forms of the eaten items are checked on their own as well.
+ *
+ * @author RUOXUAN XU
+ */
+public class GameSnapshotTest {
+    private final static String LEVEL_1 = "res/level1.bin";
+    private final static long SEED = 99;
+    private final static int PLAY_TICKS = 800;
+    private final static int REPLAY_TICKS = 1500;
+    private final static int LEVEL_TICKS = 400;
+    private final static int COUNTDOWN_TICKS = 100;
+    private final static int WIN_DOTS = 121;
+    private final static int DOT_SPACING = 20;
+    private final static int FIRST_DOT_X = 30;
+    private final static int ROW_Y = 100;
+    private final static int HEADER_BYTES = 30;
+    private final static int EATEN_HEADER_BYTES = 5;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void restoredGameSavesTheSameBytes() {
+        GameEngine engine = played(new GameEngine(SEED), PLAY_TICKS);
+        byte[] saved = Snapshots.of(engine);
+
+        GameEngine other = new GameEngine(SEED + 1);
+        other.restore(new GameSnapshot(saved));
+        assertArrayEquals(saved, Snapshots.of(other));
+    }
+
+    @Test
+    public void restoredGamePlaysOnTheSame() {
+        GameEngine engine = played(new GameEngine(SEED), PLAY_TICKS);
+        GameSnapshot saved = new GameSnapshot();
+        engine.save(saved);
+        int[] inputs = inputsOf(engine, REPLAY_TICKS);
+        byte[] expected = Snapshots.of(engine);
+
+        GameEngine other = new GameEngine(SEED);
+        other.restore(saved);
+        play(other, inputs);
+        assertArrayEquals(expected, Snapshots.of(other));
+
+        engine.restore(saved);
+        play(engine, inputs);
+        assertArrayEquals(expected, Snapshots.of(engine), "rolling back and replaying");
+    }
+
+    @Test
+    public void restoresAcrossLevels() throws IOException {
+        String level0 = writeWinnableLevel();
+        GameEngine engine = new GameEngine(level0, LEVEL_1, SEED);
+        byte[] firstLevel = Snapshots.of(played(engine, 1));
+        winFirstLevel(engine);
+        engine.tick(GameInput.START);
+        played(engine, LEVEL_TICKS);
+        assertEquals(GameEngine.LEVEL_1, engine.getLevel());
+        byte[] secondLevel = Snapshots.of(engine);
+
+        GameEngine other = new GameEngine(level0, LEVEL_1, SEED);
+        other.restore(new GameSnapshot(secondLevel));
+        assertEquals(GameEngine.LEVEL_1, other.getLevel());
+        assertArrayEquals(secondLevel, Snapshots.of(other));
+        int[] inputs = inputsOf(engine, REPLAY_TICKS);
+        play(other, inputs);
+        assertArrayEquals(Snapshots.of(engine), Snapshots.of(other));
+
+        other.restore(new GameSnapshot(firstLevel));
+        assertEquals(GameEngine.LEVEL_0, other.getLevel());
+        assertArrayEquals(firstLevel, Snapshots.of(other));
+    }
+
+    @Test
+    public void restoresDuringTheCountdown() throws IOException {
+        String level0 = writeWinnableLevel();
+        GameEngine engine = new GameEngine(level0, LEVEL_1, SEED);
+        winFirstLevel(engine);
+        for (int tick = 0; tick < COUNTDOWN_TICKS; tick++) {
+            engine.tick(GameInput.NONE);
+        }
+        byte[] countdown = Snapshots.of(engine);
+
+        GameEngine other = new GameEngine(level0, LEVEL_1, SEED);
+        other.restore(new GameSnapshot(countdown));
+        while (engine.getLevel() == GameEngine.LEVEL_0) {
+            engine.tick(GameInput.NONE);
+            other.tick(GameInput.NONE);
+        }
+        engine.tick(GameInput.START);
+        other.tick(GameInput.START);
+        play(other, inputsOf(engine, LEVEL_TICKS));
+        assertEquals(GameEngine.LEVEL_1, other.getLevel());
+        assertArrayEquals(Snapshots.of(engine), Snapshots.of(other));
+    }
+
+    @Test
+    public void rejectsShortSnapshotsWithoutChangingTheGame() {
+        byte[] saved = Snapshots.of(played(new GameEngine(SEED), PLAY_TICKS));
+        GameEngine engine = played(new GameEngine(SEED + 1), PLAY_TICKS / 2);
+        byte[] before = Snapshots.of(engine);
+        for (int length = 0; length < saved.length; length++) {
+            byte[] cut = Arrays.copyOf(saved, length);
+            assertThrows(IllegalArgumentException.class, () -> engine.restore(new GameSnapshot(cut)),
+                    "a snapshot cut to " + length + " bytes");
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.restore(new GameSnapshot(Arrays.copyOf(saved, saved.length + 1))));
+        assertArrayEquals(before, Snapshots.of(engine));
+    }
+
+    @Test
+    public void rejectsCorruptSnapshotsWithoutChangingTheGame() {
+        byte[] saved = Snapshots.of(played(new GameEngine(SEED), PLAY_TICKS));
+        GameEngine engine = played(new GameEngine(SEED + 1), PLAY_TICKS / 2);
+        byte[] before = Snapshots.of(engine);
+
+        byte[] magic = saved.clone();
+        magic[0] ^= 1;
+        byte[] level = saved.clone();
+        level[Integer.BYTES] = 7;
+        byte[] ghosts = saved.clone();
+        ByteBuffer.wrap(ghosts).putInt(HEADER_BYTES - 2 * Integer.BYTES, engine.getGhosts().size() + 1);
+        int eatenStart = HEADER_BYTES + engine.getPlayer().stateBytes() + 1;
+        for (Ghost ghost : engine.getGhosts()) {
+            eatenStart += ghost.stateBytes();
+        }
+        byte[] eatenForm = saved.clone();
+        eatenForm[eatenStart] = 5;
+        byte[] eatenCount = saved.clone();
+        ByteBuffer.wrap(eatenCount).putInt(eatenStart + 1, ByteBuffer.wrap(saved).getInt(eatenStart + 1) + 1);
+        for (byte[] corrupt : new byte[][] {magic, level, ghosts, eatenForm, eatenCount}) {
+            assertThrows(IllegalArgumentException.class, () -> engine.restore(new GameSnapshot(corrupt)));
+        }
+        assertArrayEquals(before, Snapshots.of(engine));
+    }
+
+    @Test
+    public void rejectsSnapshotsOfOtherLevels() {
+        byte[] saved = Snapshots.of(played(new GameEngine(LEVEL_1, LEVEL_1, SEED), PLAY_TICKS));
+        GameEngine engine = new GameEngine(SEED);
+        assertThrows(IllegalArgumentException.class, () -> engine.restore(new GameSnapshot(saved)));
+    }
+
+    @Test
+    public void rejectsAnEatenIndexPastTheLastItem() {
+        EatableStore store = new GameEngine(SEED).getEatableEntities();
+        eat(store, 0, 1);
+        byte[] state = writeEaten(store);
+        ByteBuffer.wrap(state).putInt(state.length - Integer.BYTES, store.size());
+        assertFalse(store.canReadEaten(ByteBuffer.wrap(state), 0));
+    }
+
+    @Test
+    public void writesFewEatenItemsAsAList() {
+        EatableStore store = new GameEngine(SEED).getEatableEntities();
+        eat(store, 0, 1);
+        int eaten = store.size() - store.remainingCount();
+        assertTrue(eaten > 0);
+        byte[] state = writeEaten(store);
+        assertEquals(EATEN_HEADER_BYTES + eaten * Integer.BYTES, state.length, "size of the list form");
+        readsBack(store, state);
+    }
+
+    @Test
+    public void writesManyEatenItemsAsABitmap() {
+        EatableStore store = new GameEngine(SEED).getEatableEntities();
+        eat(store, 0, store.size() / 2);
+        int words = (store.size() + Long.SIZE - 1) / Long.SIZE;
+        byte[] state = writeEaten(store);
+        assertEquals(EATEN_HEADER_BYTES + words * Long.BYTES, state.length, "size of the bitmap form");
+        readsBack(store, state);
+
+        byte[] extraBit = state.clone();
+        extraBit[state.length - Long.BYTES] |= (byte) 0x80;
+        assertFalse(store.canReadEaten(ByteBuffer.wrap(extraBit), 0), "a bit past the last item");
+    }
+
+    /**
+     * Method that starts a game and plays it with a bot for the given number of ticks.
+     */
+    private static GameEngine played(GameEngine engine, int ticks) {
+        RandomWalkPolicy policy = new RandomWalkPolicy(SEED);
+        for (int tick = 0; tick < ticks; tick++) {
+            engine.tick(policy.nextInput(engine));
+        }
+        return engine;
+    }
+
+    /**
+     * Method that plays a game on with a bot and returns the keys it pressed.
+     */
+    private static int[] inputsOf(GameEngine engine, int ticks) {
+        RandomWalkPolicy policy = new RandomWalkPolicy(SEED + 2);
+        int[] inputs = new int[ticks];
+        for (int tick = 0; tick < ticks; tick++) {
+            inputs[tick] = policy.nextInput(engine);
+            engine.tick(inputs[tick]);
+        }
+        return inputs;
+    }
+
+    /**
+     * Method that ticks a game with the given keys.
+     */
+    private static void play(GameEngine engine, int[] inputs) {
+        for (int input : inputs) {
+            engine.tick(input);
+        }
+    }
+
+    /**
+     * Method that writes a first level the player wins by walking right along a row of dots.
+     */
+    private String writeWinnableLevel() throws IOException {
+        String file = directory.resolve("winnable.csv").toString();
+        try (PrintWriter writer = new PrintWriter(file)) {
+            writer.println("Player,0," + ROW_Y);
+            for (int dot = 0; dot < WIN_DOTS; dot++) {
+                writer.println("Dot," + (FIRST_DOT_X + dot * DOT_SPACING) + "," + ROW_Y);
+            }
+            writer.println("Wall,0,0");
+        }
+        return file;
+    }
+
+    /**
+     * Method that starts the winnable level and walks right until it is won.
+     */
+    private static void winFirstLevel(GameEngine engine) {
+        engine.tick(GameInput.START);
+        while (!engine.isPlayerWin()) {
+            engine.tick(GameInput.RIGHT);
+        }
+    }
+
+    /**
+     * Method that eats the items of a range of indices, by placing a player on each.
+     */
+    private static void eat(EatableStore store, int from, int to) {
+        Player player = new Player(0, 0);
+        for (int i = from; i < to; i++) {
+            player.setPosition(store.getX(i), store.getY(i));
+            store.eatIntersecting(player);
+        }
+    }
+
+    /**
+     * Method that writes the eaten items of a store and returns the bytes written.
+     */
+    private static byte[] writeEaten(EatableStore store) {
+        ByteBuffer out = ByteBuffer.allocate(store.maxEatenBytes());
+        store.writeEaten(out);
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    /**
+     * Method that reads the state into a fresh store of the same level and checks the same items remain.
+     */
+    private static void readsBack(EatableStore store, byte[] state) {
+        assertTrue(store.canReadEaten(ByteBuffer.wrap(state), 0));
+        EatableStore fresh = new GameEngine(SEED).getEatableEntities();
+        fresh.readEaten(ByteBuffer.wrap(state));
+        assertEquals(store.remainingCount(), fresh.remainingCount());
+        for (int i = store.nextRemaining(0); i >= 0; i = store.nextRemaining(i + 1)) {
+            assertEquals(i, fresh.nextRemaining(i));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The GhostCollisionTest class checks that ghosts which run into each other turn once per tick,
+ * however many other ghosts they touch, and only when ghost collisions are on.
+ * The level puts a red ghost, which reverses when it turns, between two stationary ghosts overlapping it.
+ *
+ * @author RUOXUAN XU
+ */
+public class GhostCollisionTest {
+    private final static long SEED = 2023;
+    private final static int TICKS = 5000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void ghostTouchingTwoGhostsTurnsOnce() throws IOException {
+        Ghost red = playOneTick(true);
+        assertEquals(Ghost.LEFT, red.getDirection(), "the red ghost's direction");
+    }
+
+    @Test
+    public void ghostsPassThroughEachOtherByDefault() throws IOException {
+        Ghost red = playOneTick(false);
+        assertEquals(Ghost.RIGHT, red.getDirection(), "the red ghost's direction");
+    }
+
+    @Test
+    public void replayWithGhostCollisionsIsDeterministic() {
+        assertArrayEquals(finalState(), finalState());
+    }
+
+    /**
+     * Method that starts the level, plays one tick and returns the red ghost.
+     */
+    private Ghost playOneTick(boolean isGhostCollision) throws IOException {
+        String level = writeLevel();
+        GameEngine engine = new GameEngine(level, level, SEED);
+        engine.setGhostCollision(isGhostCollision);
+        engine.tick(GameInput.START);
+        engine.tick(GameInput.NONE);
+        return engine.getGhosts().get(0);
+    }
+
+    /**
+     * Method that plays the shipped levels with ghost collisions and bot inputs, and returns the final snapshot.
+     */
+    private static byte[] finalState() {
+        GameEngine engine = new GameEngine(SEED);
+        engine.setGhostCollision(true);
+        RandomWalkPolicy policy = new RandomWalkPolicy(SEED);
+        for (int tick = 0; tick < TICKS; tick++) {
+            engine.tick(policy.nextInput(engine));
+        }
+        return Snapshots.of(engine);
+    }
+
+    /**
+     * Method that writes a level with a red ghost overlapped on both sides by stationary ghosts.
+     */
+    private String writeLevel() throws IOException {
+        String file = directory.resolve("ghosts.csv").toString();
+        try (PrintWriter writer = new PrintWriter(file)) {
+            writer.println("Player,900,700");
+            writer.println("GhostRed,100,100");
+            writer.println("Ghost,90,100");
+            writer.println("Ghost,110,100");
+            writer.println("Dot,500,500");
+            writer.println("Wall,950,0");
+        }
+        return file;
+    }
+}
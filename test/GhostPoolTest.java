@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The GhostPoolTest class checks that updating ghosts on a pool plays exactly the same game as updating them
+ * on the ticking thread, on the smallest stress level, whose 64 ghosts are split across the pool.
+ *
+ * @author RUOXUAN XU
+ */
+public class GhostPoolTest {
+    private final static String LEVEL = "stress-10k";
+    private final static long SEED = 5;
+    private final static int WORKERS = 4;
+    private final static int TICKS = 1500;
+    private final static int CHECK_INTERVAL = 100;
+
+    @Test
+    public void poolPlaysTheSameGame() throws IOException {
+        playsTheSameGame(false);
+    }
+
+    @Test
+    public void poolPlaysTheSameChase() throws IOException {
+        playsTheSameGame(true);
+    }
+
+    /**
+     * Method that ticks a game with a ghost pool and one without, from the same seed and inputs,
+     * comparing their snapshots along the way, and checks that the pool's workers did run.
+     */
+    private static void playsTheSameGame(boolean isChase) throws IOException {
+        String file = MazeGenerator.writeStressLevel(LEVEL);
+        AtomicInteger workers = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(WORKERS, created -> {
+            workers.incrementAndGet();
+            return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(created);
+        }, null, false);
+        try {
+            GameEngine serial = new GameEngine(file, file, SEED);
+            GameEngine parallel = new GameEngine(file, file, SEED);
+            serial.setChase(isChase);
+            parallel.setChase(isChase);
+            parallel.setGhostPool(pool);
+            RandomWalkPolicy policy = new RandomWalkPolicy(SEED);
+            for (int tick = 1; tick <= TICKS; tick++) {
+                int input = policy.nextInput(serial);
+                serial.tick(input);
+                parallel.tick(input);
+                if (tick % CHECK_INTERVAL == 0) {
+                    assertArrayEquals(Snapshots.of(serial), Snapshots.of(parallel),
+                            "snapshots differ at tick " + tick);
+                }
+            }
+            assertTrue(workers.get() > 0, "the ghosts were never updated on the pool");
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
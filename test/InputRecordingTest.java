@@ -0,0 +1,192 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The InputRecordingTest class checks that a recorded game replays to exactly the same state,
+ * and that recording files of every version are read and anything else is rejected.
+ * The hand-written files spell out the file format, so they also catch accidental format changes.
+ *
+ * @author RUOXUAN XU
+ */
+public class InputRecordingTest {
+    private final static int MAGIC = 0x53505243;
+    private final static long SEED = 2023;
+    private final static int TICKS = 20_000;
+    private final static int LONG_RUN = 300;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void replayReachesTheRecordedState() throws IOException {
+        replaysExactly(false, false);
+    }
+
+    @Test
+    public void replayReachesTheRecordedChase() throws IOException {
+        replaysExactly(true, false);
+    }
+
+    @Test
+    public void replayReachesTheRecordedGhostCollisions() throws IOException {
+        replaysExactly(true, true);
+    }
+
+    @Test
+    public void loadsVersionOneAsNotChasing() throws IOException {
+        String file = write(out -> {
+            out.writeInt(MAGIC);
+            out.writeInt(1);
+            out.writeLong(SEED);
+            out.writeInt(2);
+            out.writeByte(GameInput.START);
+            out.writeByte(1);
+            out.writeByte(GameInput.RIGHT);
+            writeLongRun(out);
+        });
+        InputRecording recording = InputRecording.load(file);
+        assertEquals(SEED, recording.getSeed());
+        assertFalse(recording.isChase());
+        assertEquals(2, recording.getRuns());
+        assertEquals(1 + LONG_RUN, recording.getTicks());
+    }
+
+    @Test
+    public void loadsVersionTwo() throws IOException {
+        String file = write(out -> {
+            out.writeInt(MAGIC);
+            out.writeInt(2);
+            out.writeLong(SEED);
+            out.writeBoolean(true);
+            out.writeInt(1);
+            out.writeByte(GameInput.LEFT);
+            writeLongRun(out);
+        });
+        InputRecording recording = InputRecording.load(file);
+        assertEquals(SEED, recording.getSeed());
+        assertTrue(recording.isChase());
+        assertFalse(recording.isGhostCollision());
+        assertEquals(1, recording.getRuns());
+        assertEquals(LONG_RUN, recording.getTicks());
+    }
+
+    @Test
+    public void loadsVersionThree() throws IOException {
+        String file = write(out -> {
+            out.writeInt(MAGIC);
+            out.writeInt(3);
+            out.writeLong(SEED);
+            out.writeBoolean(false);
+            out.writeBoolean(true);
+            out.writeInt(1);
+            out.writeByte(GameInput.DOWN);
+            writeLongRun(out);
+        });
+        InputRecording recording = InputRecording.load(file);
+        assertEquals(SEED, recording.getSeed());
+        assertFalse(recording.isChase());
+        assertTrue(recording.isGhostCollision());
+        assertEquals(1, recording.getRuns());
+        assertEquals(LONG_RUN, recording.getTicks());
+    }
+
+    @Test
+    public void rejectsAnotherFile() throws IOException {
+        String file = write(out -> {
+            out.writeInt(MAGIC + 1);
+            out.writeInt(2);
+            out.writeLong(SEED);
+        });
+        assertThrows(IOException.class, () -> InputRecording.load(file));
+    }
+
+    @Test
+    public void rejectsAnUnknownVersion() throws IOException {
+        String file = write(out -> {
+            out.writeInt(MAGIC);
+            out.writeInt(4);
+            out.writeLong(SEED);
+            out.writeBoolean(false);
+            out.writeBoolean(false);
+            out.writeInt(0);
+        });
+        assertThrows(IOException.class, () -> InputRecording.load(file));
+    }
+
+    @Test
+    public void rejectsATruncatedFile() throws IOException {
+        String file = write(out -> {
+            out.writeInt(MAGIC);
+            out.writeInt(2);
+            out.writeLong(SEED);
+            out.writeBoolean(false);
+            out.writeInt(5);
+            out.writeByte(GameInput.UP);
+        });
+        assertThrows(IOException.class, () -> InputRecording.load(file));
+    }
+
+    /**
+     * Method that records a bot's game, saves and loads the recording, replays it on a new engine
+     * and compares the snapshots of the two games.
+     */
+    private void replaysExactly(boolean isChase, boolean isGhostCollision) throws IOException {
+        GameEngine engine = new GameEngine(SEED);
+        engine.setChase(isChase);
+        engine.setGhostCollision(isGhostCollision);
+        InputRecording recording = new InputRecording(SEED, isChase, isGhostCollision);
+        RandomWalkPolicy policy = new RandomWalkPolicy(SEED);
+        for (int tick = 0; tick < TICKS; tick++) {
+            int input = policy.nextInput(engine);
+            engine.tick(input);
+            recording.record(input);
+        }
+        String file = directory.resolve("game.rec").toString();
+        recording.save(file);
+
+        InputRecording loaded = InputRecording.load(file);
+        assertEquals(TICKS, loaded.getTicks());
+        assertEquals(isChase, loaded.isChase());
+        assertEquals(isGhostCollision, loaded.isGhostCollision());
+        GameEngine replay = ReplayRunner.createEngine(loaded);
+        loaded.play(replay);
+        assertArrayEquals(Snapshots.of(engine), Snapshots.of(replay));
+    }
+
+    /**
+     * Method that writes the long run's tick count as a variable-length int of two bytes.
+     */
+    private static void writeLongRun(DataOutputStream out) throws IOException {
+        out.writeByte((LONG_RUN & 0x7F) | 0x80);
+        out.writeByte(LONG_RUN >>> 7);
+    }
+
+    /**
+     * Method that writes a file in the temporary directory.
+     */
+    private String write(Contents contents) throws IOException {
+        String file = directory.resolve("written.rec").toString();
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            contents.write(out);
+        }
+        return file;
+    }
+
+    /**
+     * The Contents interface writes the contents of a test file.
+     */
+    private interface Contents {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,127 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The LevelDataTest class checks how level files are read: that the shipped binary levels and freshly compiled
+ * ones hold the same entities as their CSVs, that broken binary levels are rejected with a clear error,
+ * and that a level which cannot be read is reported to the game instead of ending the program.
+ *
+ * @author RUOXUAN XU
+ */
+public class LevelDataTest {
+    private final static long SEED = 2023;
+    private final static int WIN_DOTS = 121;
+    private final static int DOT_SPACING = 20;
+    private final static int FIRST_DOT_X = 30;
+    private final static int ROW_Y = 100;
+    private final static int COUNTDOWN_TICKS = 1000;
+    private final static String[] LEVELS = {"res/level0", "res/level1"};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void shippedBinaryLevelsMatchTheirCSVs() {
+        for (String level : LEVELS) {
+            assertEquals(describe(level + LevelFormat.CSV_SUFFIX), describe(level + LevelFormat.BINARY_SUFFIX), level);
+        }
+    }
+
+    @Test
+    public void compiledLevelsMatchTheShippedOnes() throws IOException {
+        for (String level : LEVELS) {
+            String compiled = directory.resolve("compiled" + LevelFormat.BINARY_SUFFIX).toString();
+            LevelCompiler.compile(level + LevelFormat.CSV_SUFFIX, compiled);
+            assertArrayEquals(Files.readAllBytes(Paths.get(level + LevelFormat.BINARY_SUFFIX)),
+                    Files.readAllBytes(Paths.get(compiled)), level);
+            assertEquals(describe(level + LevelFormat.CSV_SUFFIX), describe(compiled), level);
+        }
+    }
+
+    @Test
+    public void truncatedBinaryLevelIsRejected() throws IOException {
+        byte[] level = Files.readAllBytes(Paths.get(LEVELS[0] + LevelFormat.BINARY_SUFFIX));
+        for (int length : new int[] {0, LevelFormat.HEADER_BYTES - 1, LevelFormat.HEADER_BYTES, level.length - 1}) {
+            Path truncated = directory.resolve("truncated" + LevelFormat.BINARY_SUFFIX);
+            Files.write(truncated, Arrays.copyOf(level, length));
+            UncheckedIOException thrown = assertThrows(UncheckedIOException.class,
+                    () -> LevelData.load(truncated.toString(), new GameRandom(SEED)), "cut to " + length);
+            assertTrue(thrown.getMessage().contains(truncated.toString()), thrown.getMessage());
+        }
+    }
+
+    @Test
+    public void missingLevelIsThrown() {
+        String missing = directory.resolve("missing.csv").toString();
+        assertThrows(UncheckedIOException.class, () -> LevelData.load(missing, new GameRandom(SEED)));
+    }
+
+    @Test
+    public void missingNextLevelEndsTheGame() throws IOException {
+        GameEngine engine = new GameEngine(writeWinnableLevel(), directory.resolve("missing.csv").toString(), SEED);
+        engine.tick(GameInput.START);
+        while (!engine.isPlayerWin()) {
+            engine.tick(GameInput.RIGHT);
+        }
+        for (int tick = 0; tick < COUNTDOWN_TICKS; tick++) {
+            engine.tick(GameInput.NONE);
+        }
+        assertTrue(engine.isGameOver(), "the game is over");
+        assertFalse(engine.isPlayerWin(), "the game is still won");
+        assertEquals(GameEngine.LEVEL_0, engine.getLevel());
+    }
+
+    /**
+     * Method that loads a level and lists its entities, in the order they were read, with the state they start in.
+     */
+    private static ArrayList<String> describe(String file) {
+        LevelData data = LevelData.load(file, new GameRandom(SEED));
+        ArrayList<String> entities = new ArrayList<>();
+        entities.add("player " + data.getPlayer().getX() + "," + data.getPlayer().getY());
+        Pellet pellet = data.getPellet();
+        entities.add(pellet == null ? "no pellet" : "pellet " + pellet.getX() + "," + pellet.getY());
+        for (Wall wall : data.getWalls()) {
+            entities.add("wall " + wall.getX() + "," + wall.getY());
+        }
+        EatableStore eatables = data.getEatableEntities();
+        for (int i = 0; i < eatables.size(); i++) {
+            entities.add(eatables.getSprite(i).getFile() + " " + eatables.getX(i) + "," + eatables.getY(i));
+        }
+        for (Ghost ghost : data.getGhosts()) {
+            entities.add(ghost.getClass().getSimpleName() + " " + ghost.getX() + "," + ghost.getY()
+                    + " facing " + ghost.getDirection() + " at " + ghost.getMoveSize());
+        }
+        entities.add("random " + data.getRandom().getState());
+        return entities;
+    }
+
+    /**
+     * Method that writes a first level the player wins by walking right along a row of dots.
+     */
+    private String writeWinnableLevel() throws IOException {
+        String file = directory.resolve("winnable.csv").toString();
+        try (PrintWriter writer = new PrintWriter(file)) {
+            writer.println("Player,0," + ROW_Y);
+            for (int dot = 0; dot < WIN_DOTS; dot++) {
+                writer.println("Dot," + (FIRST_DOT_X + dot * DOT_SPACING) + "," + ROW_Y);
+            }
+            writer.println("Wall,0,0");
+        }
+        return file;
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * The Snapshots class holds helpers shared by the tests that compare games through their snapshots.
+ *
+ * @author RUOXUAN XU
+ */
+final class Snapshots {
+    private Snapshots() {
+    }
+
+    /**
+     * Method that saves a game and returns the snapshot's bytes.
+     *
+     * @param engine The game to save.
+     * @return The bytes of the game's snapshot.
+     */
+    static byte[] of(GameEngine engine) {
+        GameSnapshot snapshot = new GameSnapshot();
+        engine.save(snapshot);
+        return snapshot.toByteArray();
+    }
+}
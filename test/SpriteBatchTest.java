@@ -0,0 +1,83 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The SpriteBatchTest class checks that the sprite batch's ordering and culling reduce the work of a frame.
+ * Images are only looked up when the batch is flushed, so the frames here are added and counted but never drawn.
+ *
+ * @author RUOXUAN XU
+ */
+public class SpriteBatchTest {
+    private final static double WIDTH = 1024;
+    private final static double HEIGHT = 768;
+    private final static double SIZE = 20;
+    private final static String LEVEL = "res/level1.csv";
+    private final static long SEED = 2023;
+
+    @Test
+    public void levelFrameChangesTextureOncePerSprite() {
+        GameEngine engine = new GameEngine(LEVEL, LEVEL, SEED);
+        engine.tick(GameInput.START);
+        SpriteBatch batch = new SpriteBatch(new AssetCache(), WIDTH, HEIGHT);
+
+        int added = 0;
+        Set<Sprite> sprites = Collections.newSetFromMap(new IdentityHashMap<>());
+        Player player = engine.getPlayer();
+        batch.add(player.getCurrentSprite(), player.getX(), player.getY(), player.getRotation());
+        sprites.add(player.getCurrentSprite());
+        added++;
+        EatableStore eatables = engine.getEatableEntities();
+        for (int i = eatables.nextRemaining(0); i >= 0; i = eatables.nextRemaining(i + 1)) {
+            batch.add(eatables.getSprite(i), eatables.getX(i), eatables.getY(i));
+            sprites.add(eatables.getSprite(i));
+            added++;
+        }
+        for (Ghost ghost : engine.getGhosts()) {
+            batch.add(ghost.getSprite(), ghost.getX(), ghost.getY());
+            sprites.add(ghost.getSprite());
+            added++;
+        }
+
+        assertEquals(added, batch.getQuadCount() + batch.getCulledCount(), "quads counted");
+        assertEquals(sprites.size(), batch.getTextureChanges(), "texture changes");
+        assertTrue(batch.getTextureChanges() <= batch.getUnorderedTextureChanges(),
+                batch.getTextureChanges() + " ordered texture changes against "
+                        + batch.getUnorderedTextureChanges() + " unordered");
+    }
+
+    @Test
+    public void alternatingSpritesChangeTextureTwice() {
+        SpriteBatch batch = new SpriteBatch(new AssetCache(), WIDTH, HEIGHT);
+        Sprite dot = new Sprite("res/dot.png", SIZE, SIZE);
+        Sprite ghost = new Sprite("res/ghostRed.png", SIZE, SIZE);
+        for (int i = 0; i < 10; i++) {
+            batch.add(i % 2 == 0 ? dot : ghost, i * SIZE, 0);
+        }
+
+        assertEquals(10, batch.getQuadCount());
+        assertEquals(2, batch.getTextureChanges());
+        assertEquals(10, batch.getUnorderedTextureChanges());
+    }
+
+    @Test
+    public void quadsOutsideTheWindowAreCulled() {
+        SpriteBatch batch = new SpriteBatch(new AssetCache(), WIDTH, HEIGHT);
+        Sprite dot = new Sprite("res/dot.png", SIZE, SIZE);
+        batch.add(dot, -SIZE - 1, 0);
+        batch.add(dot, 0, -SIZE - 1);
+        batch.add(dot, WIDTH + 1, 0);
+        batch.add(dot, 0, HEIGHT + 1);
+        batch.add(dot, -SIZE, -SIZE);
+        batch.add(dot, WIDTH, HEIGHT);
+
+        assertEquals(4, batch.getCulledCount(), "quads wholly outside the window");
+        assertEquals(2, batch.getQuadCount(), "quads touching the window");
+        assertEquals(1, batch.getTextureChanges());
+    }
+}
@@ -0,0 +1,70 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The SweepAndPruneTest class checks that the broadphase finds exactly the pairs a check of every pair finds.
+ * Movers of random sizes wander over a small area for many ticks, mostly a few pixels at a time as in the game,
+ * with the odd jump across the area, such as a ghost reset to its start, which moves a mover far in the order.
+ *
+ * @author RUOXUAN XU
+ */
+public class SweepAndPruneTest {
+    private final static long SEED = 2023;
+    private final static int MOVERS = 200;
+    private final static int TICKS = 200;
+    private final static double AREA = 600;
+    private final static int MIN_SIZE = 5;
+    private final static int MAX_SIZE = 60;
+    private final static double STEP = 8;
+    private final static int JUMP_CHANCE = 50;
+
+    @Test
+    public void findsTheSamePairsAsEveryPairCheck() {
+        Random random = new Random(SEED);
+        SweepAndPrune broadphase = new SweepAndPrune();
+        Entity[] movers = new Entity[MOVERS];
+        for (int i = 0; i < MOVERS; i++) {
+            int width = MIN_SIZE + random.nextInt(MAX_SIZE - MIN_SIZE);
+            int height = MIN_SIZE + random.nextInt(MAX_SIZE - MIN_SIZE);
+            movers[i] = new Entity(random.nextDouble() * AREA, random.nextDouble() * AREA,
+                    new Sprite("mover.png", width, height)) {
+            };
+            assertEquals(i, broadphase.add(movers[i]), "the id of a mover");
+        }
+
+        for (int tick = 0; tick < TICKS; tick++) {
+            for (Entity mover : movers) {
+                if (random.nextInt(JUMP_CHANCE) == 0) {
+                    mover.setPosition(random.nextDouble() * AREA, random.nextDouble() * AREA);
+                } else {
+                    mover.setPosition(mover.getX() + (random.nextDouble() * 2 - 1) * STEP,
+                            mover.getY() + (random.nextDouble() * 2 - 1) * STEP);
+                }
+            }
+
+            TreeSet<Long> found = new TreeSet<>();
+            int pairs = broadphase.findPairs();
+            for (int pair = 0; pair < pairs; pair++) {
+                int first = broadphase.getFirst(pair);
+                int second = broadphase.getSecond(pair);
+                assertTrue(first < second, "a pair reported as (" + first + ", " + second + ")");
+                assertTrue(found.add((long) first * MOVERS + second), "a pair reported twice");
+            }
+
+            TreeSet<Long> expected = new TreeSet<>();
+            for (int first = 0; first < MOVERS; first++) {
+                for (int second = first + 1; second < MOVERS; second++) {
+                    if (movers[first].intersects(movers[second])) {
+                        expected.add((long) first * MOVERS + second);
+                    }
+                }
+            }
+            assertEquals(expected, found, "the pairs of tick " + tick);
+        }
+    }
+}